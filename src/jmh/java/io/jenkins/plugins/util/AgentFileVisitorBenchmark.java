@@ -0,0 +1,138 @@
+package io.jenkins.plugins.util;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import hudson.FilePath;
+
+import io.jenkins.plugins.util.AgentFileVisitor.FileVisitorResult;
+
+/**
+ * Measures the time to scan a synthetic workspace with an {@link AgentFileVisitor}. The workspace is created by the
+ * {@link WorkspaceGenerator}, each matching file is read completely by the visitor. The visitor is invoked directly
+ * and through a {@link LocalChannelPair remoting channel}, so the difference shows the costs of the remoting layer.
+ *
+ * @author Ullrich Hafner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AgentFileVisitorBenchmark {
+    @Param({"2", "4"})
+    private int depth;
+    @Param({"4"})
+    private int fanOut;
+    @Param({"10"})
+    private int filesPerFolder;
+    @Param({"1024", "65536"})
+    private int fileSize;
+
+    private Path workspace;
+    private LocalChannelPair channels;
+    private FilePath remoteWorkspace;
+
+    /**
+     * Creates the workspace and the remoting channels.
+     *
+     * @throws IOException
+     *         if the workspace could not be created
+     */
+    @Setup(Level.Trial)
+    public void createWorkspace() throws IOException {
+        workspace = new WorkspaceGenerator()
+                .withDepth(depth)
+                .withFanOut(fanOut)
+                .withFilesPerFolder(filesPerFolder)
+                .withFileSize(fileSize)
+                .withExcludedTree("node_modules")
+                .generate(Files.createTempDirectory("visitor-benchmark"));
+        channels = new LocalChannelPair();
+        remoteWorkspace = channels.getRemotePath(workspace);
+    }
+
+    /**
+     * Closes the channels and deletes the workspace.
+     *
+     * @throws IOException
+     *         if the workspace could not be deleted
+     * @throws InterruptedException
+     *         if the channels could not be closed
+     */
+    @TearDown(Level.Trial)
+    public void deleteWorkspace() throws IOException, InterruptedException {
+        channels.close();
+        FileUtils.deleteDirectory(workspace.toFile());
+    }
+
+    /**
+     * Scans the workspace for all text files in the current JVM.
+     *
+     * @return the result of the visitor
+     */
+    @Benchmark
+    public FileVisitorResult<Integer> scanLocally() {
+        return new LineCountVisitor().invoke(workspace.toFile(), null);
+    }
+
+    /**
+     * Scans the workspace for all text files on the agent side of the channel pair.
+     *
+     * @return the result of the visitor
+     * @throws IOException
+     *         if the remote call fails
+     * @throws InterruptedException
+     *         if the remote call has been interrupted
+     */
+    @Benchmark
+    public FileVisitorResult<Integer> scanRemotely() throws IOException, InterruptedException {
+        return remoteWorkspace.act(new LineCountVisitor());
+    }
+
+    /**
+     * Counts the lines of each file.
+     */
+    static class LineCountVisitor extends AgentFileVisitor<Integer> {
+        @Serial
+        private static final long serialVersionUID = -2040254720286618593L;
+
+        LineCountVisitor() {
+            super(WorkspaceGenerator.INCLUDE_PATTERN, "UTF-8", false, true);
+        }
+
+        @Override
+        protected Optional<Integer> processFile(final Path file, final Charset charset, final FilteredLog log) {
+            try (var lines = Files.lines(file, charset)) {
+                return Optional.of((int) lines.count());
+            }
+            catch (IOException exception) {
+                log.logException(exception, "Can't read file '%s'", file);
+                return Optional.empty();
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.jenkins.plugins.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import hudson.EnvVars;
+
+/**
+ * Compares the {@link EnvironmentResolver} with the {@link CompiledEnvironmentResolver}. The deep environment contains
+ * a chain of variables that reference each other (up to the default depth), the wide environment contains many
+ * variables of which a value references a subset.
+ *
+ * @author Ullrich Hafner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnvironmentResolverBenchmark {
+    @Param({"deep", "wide"})
+    private String shape;
+
+    private EnvVars environment;
+    private String value;
+
+    private final EnvironmentResolver resolver = new EnvironmentResolver();
+    private final EnvironmentResolver compiledResolver = new CompiledEnvironmentResolver();
+
+    /**
+     * Creates the environment and the value to expand.
+     */
+    @Setup
+    public void setup() {
+        environment = new EnvVars();
+        if ("deep".equals(shape)) {
+            int depth = EnvironmentResolver.RESOLVE_VARIABLE_DEPTH_DEFAULT - 1;
+            for (int i = 0; i < depth; i++) {
+                environment.put("LEVEL_" + i, "${LEVEL_%d}/level-%d".formatted(i + 1, i));
+            }
+            environment.put("LEVEL_" + depth, "/workspace");
+            value = "$LEVEL_0/**/*.xml, $LEVEL_3/*.txt";
+        }
+        else {
+            IntStream.range(0, 1000).forEach(i -> environment.put("VARIABLE_" + i, "value-" + i));
+            value = IntStream.range(0, 50)
+                    .mapToObj(i -> "${VARIABLE_%d}/**/*.xml".formatted(i * 20))
+                    .collect(Collectors.joining(", "));
+        }
+    }
+
+    /**
+     * Expands the value by repeatedly calling {@link hudson.Util#replaceMacro(String, java.util.Map)}.
+     *
+     * @return the expanded value
+     */
+    @Benchmark
+    public String expandIteratively() {
+        return resolver.expandEnvironmentVariables(environment, value);
+    }
+
+    /**
+     * Expands the value using compiled templates.
+     *
+     * @return the expanded value
+     */
+    @Benchmark
+    public String expandCompiled() {
+        return compiledResolver.expandEnvironmentVariables(environment, value);
+    }
+}
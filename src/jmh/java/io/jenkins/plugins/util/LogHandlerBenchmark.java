@@ -0,0 +1,85 @@
+package io.jenkins.plugins.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import hudson.model.TaskListener;
+import hudson.util.StreamTaskListener;
+
+/**
+ * Measures the time to print the messages of a {@link FilteredLog} with a {@link LogHandler}. The log contains 50,000
+ * info messages (with many duplicates) and 1,000 error messages.
+ *
+ * @author Ullrich Hafner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogHandlerBenchmark {
+    private static final String NAME = "Benchmark";
+    private static final int INFO_MESSAGES = 50_000;
+    private static final int ERROR_MESSAGES = 1_000;
+
+    private FilteredLog log;
+    private TaskListener listener;
+
+    /**
+     * Creates the log messages and a listener that discards all output.
+     */
+    @Setup
+    public void setup() {
+        log = new FilteredLog("Errors", ERROR_MESSAGES);
+        for (int i = 0; i < INFO_MESSAGES; i++) {
+            log.logInfo("Successfully processed file 'src/main/java/File%d.java'", i % 100);
+        }
+        for (int i = 0; i < ERROR_MESSAGES; i++) {
+            log.logError("Skipping file 'src/main/java/File%d.java' because it's empty", i);
+        }
+        listener = new StreamTaskListener(OutputStream.nullOutputStream());
+    }
+
+    /**
+     * Prints all messages.
+     */
+    @Benchmark
+    public void printAll() {
+        new LogHandler(listener, NAME).log(log);
+    }
+
+    /**
+     * Prints the messages with collapsed duplicates and a maximum number of lines.
+     */
+    @Benchmark
+    public void printCollapsed() {
+        var handler = new LogHandler(listener, NAME);
+        handler.setCollapseDuplicates(true);
+        handler.setMaximumLines(1_000);
+        handler.log(log);
+    }
+
+    /**
+     * Prints all messages in a background thread.
+     */
+    @Benchmark
+    public void printAsync() {
+        try (var handler = new AsyncLogHandler(listener, NAME)) {
+            handler.log(log);
+        }
+    }
+}
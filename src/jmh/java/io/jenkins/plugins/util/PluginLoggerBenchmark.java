@@ -0,0 +1,67 @@
+package io.jenkins.plugins.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the throughput of console logging: each invocation writes 100,000 lines to a console stream.
+ *
+ * @author Ullrich Hafner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PluginLoggerBenchmark {
+    private static final int LINES = 100_000;
+    private static final String NAME = "Benchmark";
+
+    private List<String> lines;
+    private PrintStream console;
+
+    /**
+     * Creates the lines to log and a console stream that discards all output.
+     */
+    @Setup
+    public void setup() {
+        lines = IntStream.range(0, LINES)
+                .mapToObj(i -> "Successfully processed file 'src/main/java/io/jenkins/plugins/File%d.java'"
+                        .formatted(i))
+                .collect(Collectors.toList());
+        console = new PrintStream(OutputStream.nullOutputStream(), true, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Logs each line with a separate write to the console.
+     */
+    @Benchmark
+    public void logLineByLine() {
+        new PluginLogger(console, NAME).logEachLine(lines);
+    }
+
+    /**
+     * Logs the lines in chunks.
+     */
+    @Benchmark
+    public void logBuffered() {
+        new BufferedPluginLogger(console, NAME).logEachLine(lines);
+    }
+}
@@ -0,0 +1,138 @@
+package io.jenkins.plugins.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to evaluate a set of quality gates with a {@link QualityGateEvaluator}. Half of the quality gates
+ * are missed, so the messages and the result handler are part of the measurement as well.
+ *
+ * @author Ullrich Hafner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QualityGateEvaluatorBenchmark {
+    @Param({"10", "200"})
+    private int gateCount;
+
+    private MetricEvaluator evaluator;
+    private MetricEvaluator trendEvaluator;
+
+    /**
+     * Creates the quality gates, the actual values, and the trend statistics.
+     */
+    @Setup
+    public void setup() {
+        List<MetricQualityGate> gates = new ArrayList<>();
+        Map<String, Double> values = new HashMap<>();
+        var statistics = new TrendStatistics();
+        for (int i = 0; i < gateCount; i++) {
+            var metric = "metric-" + i;
+            var gate = new MetricQualityGate(metric);
+            gate.setThreshold(50);
+            gate.setCriticality(i % 2 == 0 ? QualityGate.QualityGateCriticality.UNSTABLE
+                    : QualityGate.QualityGateCriticality.NOTE);
+            gates.add(gate);
+            values.put(metric, (double) (i % 100));
+        }
+        for (int build = 1; build <= TrendStatistics.DEFAULT_WINDOW_SIZE; build++) {
+            statistics.update(build, values);
+        }
+
+        evaluator = new MetricEvaluator(gates, values, false);
+        trendEvaluator = new MetricEvaluator(gates, values, true);
+        trendEvaluator.setTrendStatistics(statistics);
+    }
+
+    /**
+     * Evaluates the quality gates against fixed thresholds.
+     *
+     * @return the result of the evaluation
+     */
+    @Benchmark
+    public QualityGateResult evaluateThresholds() {
+        return evaluator.evaluate(new NullResultHandler(), new FilteredLog("Benchmark"));
+    }
+
+    /**
+     * Evaluates the quality gates against the trend of the previous builds.
+     *
+     * @return the result of the evaluation
+     */
+    @Benchmark
+    public QualityGateResult evaluateTrends() {
+        return trendEvaluator.evaluate(new NullResultHandler(), new FilteredLog("Benchmark"));
+    }
+
+    /**
+     * A quality gate for a named metric.
+     */
+    static class MetricQualityGate extends QualityGate {
+        @Serial
+        private static final long serialVersionUID = 7011564728215618347L;
+
+        private final String metric;
+
+        MetricQualityGate(final String metric) {
+            super();
+
+            this.metric = metric;
+        }
+
+        @Override
+        public String getName() {
+            return metric;
+        }
+    }
+
+    /**
+     * Evaluates the quality gates against the values of the metrics.
+     */
+    static class MetricEvaluator extends QualityGateEvaluator<MetricQualityGate> {
+        private final Map<String, Double> values;
+        private final boolean isTrend;
+
+        MetricEvaluator(final List<MetricQualityGate> gates, final Map<String, Double> values, final boolean isTrend) {
+            super(gates);
+
+            this.values = values;
+            this.isTrend = isTrend;
+        }
+
+        @Override
+        protected void evaluate(final MetricQualityGate qualityGate, final QualityGateResult result) {
+            double actual = values.getOrDefault(qualityGate.getName(), 0.0);
+            if (isTrend) {
+                evaluateTrend(qualityGate, qualityGate.getName(), actual * 0.9, true, result);
+            }
+            else if (actual < qualityGate.getThreshold()) {
+                result.add(qualityGate, qualityGate.getStatus(), String.valueOf(actual));
+            }
+            else {
+                result.add(qualityGate, QualityGateStatus.PASSED, String.valueOf(actual));
+            }
+        }
+    }
+}
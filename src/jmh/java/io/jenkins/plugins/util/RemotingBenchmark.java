@@ -0,0 +1,164 @@
+package io.jenkins.plugins.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import jenkins.security.MasterToSlaveCallable;
+
+import io.jenkins.plugins.util.AgentFileVisitor.FileVisitorResult;
+
+/**
+ * Measures the costs of transferring results through a remoting channel. The results are created on the agent side
+ * of a {@link LocalChannelPair} and sent back to the controller side, so the measurement contains the serialization,
+ * the transfer through the pipe, and the deserialization of the results.
+ *
+ * @author Ullrich Hafner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RemotingBenchmark {
+    @Param({"1000", "100000"})
+    private int resultCount;
+
+    private LocalChannelPair channels;
+
+    /**
+     * Creates the channels.
+     *
+     * @throws IOException
+     *         if the channels could not be connected
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        channels = new LocalChannelPair();
+    }
+
+    /**
+     * Closes the channels.
+     *
+     * @throws IOException
+     *         if the channels could not be closed
+     * @throws InterruptedException
+     *         if closing has been interrupted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        channels.close();
+    }
+
+    /**
+     * Transfers a {@link FileVisitorResult} with the configured number of results.
+     *
+     * @return the transferred result
+     * @throws IOException
+     *         if the remote call fails
+     * @throws InterruptedException
+     *         if the remote call has been interrupted
+     */
+    @Benchmark
+    public FileVisitorResult<String> roundTripFileVisitorResult() throws IOException, InterruptedException {
+        return channels.getController().call(new FileVisitorResultCallable(resultCount));
+    }
+
+    /**
+     * Transfers a {@link RemoteResultWrapper} with the configured number of results.
+     *
+     * @return the transferred result
+     * @throws IOException
+     *         if the remote call fails
+     * @throws InterruptedException
+     *         if the remote call has been interrupted
+     */
+    @Benchmark
+    public RemoteResultWrapper<ArrayList<String>> roundTripRemoteResultWrapper()
+            throws IOException, InterruptedException {
+        return channels.getController().call(new RemoteResultWrapperCallable(resultCount));
+    }
+
+    /**
+     * Serializes the results without transferring them, i.e. the costs of the instrumentation that is enabled by
+     * {@link AgentFileVisitor#setPayloadSizeReported(boolean)}.
+     *
+     * @return the size of the serialized results
+     * @throws IOException
+     *         if the results cannot be serialized
+     */
+    @Benchmark
+    public long measurePayloadSize() throws IOException {
+        return PayloadMeter.getSerializedSize(createResults(resultCount));
+    }
+
+    static ArrayList<String> createResults(final int count) {
+        var results = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            results.add("src/main/java/io/jenkins/plugins/module%d/File%d.java:%d: warning".formatted(
+                    i % 10, i % 1000, i));
+        }
+        return results;
+    }
+
+    /**
+     * Creates a {@link FileVisitorResult} on the agent.
+     */
+    static class FileVisitorResultCallable extends MasterToSlaveCallable<FileVisitorResult<String>, IOException> {
+        @Serial
+        private static final long serialVersionUID = 5358712584218357734L;
+
+        private final int count;
+
+        FileVisitorResultCallable(final int count) {
+            super();
+
+            this.count = count;
+        }
+
+        @Override
+        public FileVisitorResult<String> call() {
+            return new FileVisitorResult<>(new FilteredLog("Errors"), createResults(count));
+        }
+    }
+
+    /**
+     * Creates a {@link RemoteResultWrapper} on the agent.
+     */
+    static class RemoteResultWrapperCallable
+            extends MasterToSlaveCallable<RemoteResultWrapper<ArrayList<String>>, IOException> {
+        @Serial
+        private static final long serialVersionUID = -3404327337432432151L;
+
+        private final int count;
+
+        RemoteResultWrapperCallable(final int count) {
+            super();
+
+            this.count = count;
+        }
+
+        @Override
+        public RemoteResultWrapper<ArrayList<String>> call() {
+            return new RemoteResultWrapper<>(createResults(count), "Errors");
+        }
+    }
+}
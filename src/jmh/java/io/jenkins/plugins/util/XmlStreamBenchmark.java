@@ -0,0 +1,92 @@
+package io.jenkins.plugins.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to write and read an XML file with an {@link AbstractXmlStream}. The benchmark uses the
+ * {@link TrendStatisticsStore} with statistics for a configurable number of metrics.
+ *
+ * @author Ullrich Hafner
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlStreamBenchmark {
+    @Param({"10", "500"})
+    private int metricCount;
+
+    private final TrendStatisticsStore store = new TrendStatisticsStore("benchmark");
+    private TrendStatistics statistics;
+    private Path file;
+
+    /**
+     * Creates the statistics and writes them to a temporary file.
+     *
+     * @throws IOException
+     *         if the file could not be created
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        statistics = new TrendStatistics();
+        for (int build = 1; build <= TrendStatistics.DEFAULT_WINDOW_SIZE; build++) {
+            Map<String, Number> values = new HashMap<>();
+            for (int metric = 0; metric < metricCount; metric++) {
+                values.put("metric-" + metric, build * 1.5 + metric);
+            }
+            statistics.update(build, values);
+        }
+        file = Files.createTempFile("xml-stream-benchmark", ".xml");
+        store.write(file, statistics);
+    }
+
+    /**
+     * Deletes the temporary file.
+     *
+     * @throws IOException
+     *         if the file could not be deleted
+     */
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Writes the statistics to the XML file.
+     */
+    @Benchmark
+    public void write() {
+        store.write(file, statistics);
+    }
+
+    /**
+     * Reads the statistics from the XML file.
+     *
+     * @return the statistics
+     */
+    @Benchmark
+    public TrendStatistics read() {
+        return store.read(file);
+    }
+}
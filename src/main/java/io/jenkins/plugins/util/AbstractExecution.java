@@ -1,5 +1,7 @@
 package io.jenkins.plugins.util;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
 import java.io.IOException;
 import java.io.Serial;
 import java.nio.charset.Charset;
@@ -9,14 +11,13 @@ import org.jenkinsci.plugins.workflow.graph.FlowNode;
 import org.jenkinsci.plugins.workflow.steps.StepContext;
 import org.jenkinsci.plugins.workflow.steps.SynchronousNonBlockingStepExecution;
 import hudson.FilePath;
-import hudson.model.Computer;
 import hudson.model.Run;
 import hudson.model.TaskListener;
 import hudson.remoting.VirtualChannel;
 
 /**
  * Base class for step executions. Provides several helper methods to obtain the defined {@link StepContext context}
- * elements.
+ * elements. These elements are resolved only once for each execution.
  *
  * @param <T>
  *         the type of the return value (use {@link Void} if no return value is available)
@@ -27,6 +28,9 @@ public abstract class AbstractExecution<T> extends SynchronousNonBlockingStepExe
     @Serial
     private static final long serialVersionUID = -127479018279069250L;
 
+    @CheckForNull
+    private transient volatile StepContextAccessor accessor;
+
     /**
      * Creates a new instance of {@link AbstractExecution}.
      *
@@ -47,13 +51,7 @@ public abstract class AbstractExecution<T> extends SynchronousNonBlockingStepExe
      *         if the user canceled the run
      */
     protected Run<?, ?> getRun() throws IOException, InterruptedException {
-        Run<?, ?> run = getContext().get(Run.class);
-
-        if (run == null) {
-            throw new IOException("Can't resolve Run for " + this);
-        }
-
-        return run;
+        return getAccessor().getRun();
     }
 
     /**
@@ -66,13 +64,7 @@ public abstract class AbstractExecution<T> extends SynchronousNonBlockingStepExe
      *         if the user canceled the run
      */
     protected Optional<VirtualChannel> getChannel() throws IOException, InterruptedException {
-        var computer = getContext().get(Computer.class);
-
-        if (computer == null) {
-            return Optional.empty();
-        }
-
-        return Optional.ofNullable(computer.getChannel());
+        return getAccessor().getChannel();
     }
 
     /**
@@ -85,7 +77,7 @@ public abstract class AbstractExecution<T> extends SynchronousNonBlockingStepExe
      *         if the user canceled the run
      */
     protected FilePath getBuildFolder() throws IOException, InterruptedException {
-        return new FilePath(getRun().getRootDir());
+        return getAccessor().getBuildFolder();
     }
 
     /**
@@ -98,14 +90,7 @@ public abstract class AbstractExecution<T> extends SynchronousNonBlockingStepExe
      *         if the user canceled the execution
      */
     protected FilePath getWorkspace() throws IOException, InterruptedException {
-        var workspace = getContext().get(FilePath.class);
-
-        if (workspace == null) {
-            throw new IOException("No workspace available for " + this);
-        }
-
-        workspace.mkdirs();
-        return workspace;
+        return getAccessor().getWorkspace();
     }
 
     /**
@@ -118,11 +103,7 @@ public abstract class AbstractExecution<T> extends SynchronousNonBlockingStepExe
      *         if the task listener could not be resolved
      */
     protected TaskListener getTaskListener() throws InterruptedException, IOException {
-        var listener = getContext().get(TaskListener.class);
-        if (listener != null) {
-            return listener;
-        }
-        return TaskListener.NULL;
+        return getAccessor().getTaskListener();
     }
 
     /**
@@ -149,20 +130,35 @@ public abstract class AbstractExecution<T> extends SynchronousNonBlockingStepExe
      *
      */
     protected ResultHandler createResultHandler() throws InterruptedException, IOException {
-        return createPipelineResultHandler();
+        return getAccessor().createResultHandler();
     }
 
-    private PipelineResultHandler createPipelineResultHandler() throws IOException, InterruptedException {
-        return new PipelineResultHandler(getRun(), getFlowNode());
+    /**
+     * Creates a {@link BatchingResultHandler} that collects the results of the {@link Run} or stage in memory. The
+     * caller is responsible to call {@link BatchingResultHandler#flush()} at the end of the step, even if the step
+     * fails.
+     *
+     * @return a {@link BatchingResultHandler} that sets the build result of the {@link Run} or stage
+     * @throws InterruptedException
+     *         if the user canceled the execution
+     * @throws IOException
+     *         if the required {@link FlowNode} instance is not found
+     */
+    protected BatchingResultHandler createBatchingResultHandler() throws InterruptedException, IOException {
+        return getAccessor().createBatchingResultHandler();
     }
 
-    private FlowNode getFlowNode() throws IOException, InterruptedException {
-        var flowNode = getContext().get(FlowNode.class);
-
-        if (flowNode != null) {
-            return flowNode;
+    private StepContextAccessor getAccessor() {
+        var current = accessor;
+        if (current == null) {
+            synchronized (this) {
+                current = accessor;
+                if (current == null) {
+                    current = new StepContextAccessor(getContext(), this);
+                    accessor = current;
+                }
+            }
         }
-
-        throw new IllegalStateException("FlowNode is not defined in the context of " + this);
+        return current;
     }
 }
@@ -0,0 +1,379 @@
+package io.jenkins.plugins.util;
+
+import org.springframework.security.core.Authentication;
+
+import edu.hm.hafner.util.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jenkinsci.plugins.workflow.graph.FlowNode;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.jenkinsci.plugins.workflow.steps.SynchronousNonBlockingStepExecution;
+import hudson.FilePath;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import hudson.security.ACL;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+
+/**
+ * Base class for step executions that run the body of the step in a background thread, see
+ * {@link SynchronousNonBlockingStepExecution}. In contrast to {@link AbstractExecution}, the body is executed in a
+ * virtual thread on Java 24 or newer. So steps that are blocked in remoting calls or disk I/O do not occupy a platform
+ * thread. Older JVMs use a pool of daemon threads instead: before Java 24 (see JEP 491), a virtual thread that blocks
+ * inside a {@code synchronized} block pins its carrier thread. Remoting requests and the {@link java.io.PrintStream}
+ * of the task listener synchronize on monitors, so blocked steps would exhaust the small pool of carrier threads. The
+ * number of concurrently running step bodies is limited by the system property
+ * {@code io.jenkins.plugins.util.AbstractVirtualThreadExecution.maxConcurrency} (default: 64): additional steps will
+ * wait in a queue until a running step has been finished. Waiting steps do not occupy a thread.
+ *
+ * <p>
+ * Like {@link SynchronousNonBlockingStepExecution}, this execution cannot be resumed after a restart of Jenkins.
+ * </p>
+ *
+ * @param <T>
+ *         the type of the return value (use {@link Void} if no return value is available)
+ *
+ * @author Ullrich Hafner
+ */
+public abstract class AbstractVirtualThreadExecution<T> extends StepExecution {
+    @Serial
+    private static final long serialVersionUID = 4583542463451823516L;
+
+    private static final Logger LOGGER = Logger.getLogger(AbstractVirtualThreadExecution.class.getName());
+
+    /** The default number of step bodies that can run concurrently. */
+    static final int DEFAULT_MAX_CONCURRENCY = 64;
+    /** The first Java version that does not pin the carrier thread of a virtual thread in synchronized blocks. */
+    static final int VIRTUAL_THREADS_MIN_VERSION = 24;
+
+    @CheckForNull
+    private static ThrottledExecutor executor;
+
+    @CheckForNull
+    private transient volatile Future<?> task;
+    @CheckForNull
+    private transient volatile String status;
+    @CheckForNull
+    private transient volatile StepContextAccessor accessor;
+
+    /**
+     * Creates a new instance of {@link AbstractVirtualThreadExecution}.
+     *
+     * @param context
+     *         the context to use
+     */
+    protected AbstractVirtualThreadExecution(final StepContext context) {
+        super(context);
+    }
+
+    /**
+     * Runs the body of the step. This method is invoked in a background thread with the authentication of the user
+     * that started the step.
+     *
+     * @return the result of the step
+     * @throws Exception
+     *         if the step fails
+     */
+    @SuppressWarnings("checkstyle:IllegalThrows")
+    protected abstract T run() throws Exception;
+
+    @Override
+    public final boolean start() {
+        var auth = Jenkins.getAuthentication2();
+        task = getExecutor().submit(() -> execute(auth));
+        return false;
+    }
+
+    @SuppressWarnings({"checkstyle:IllegalCatch", "PMD.AvoidCatchingThrowable"})
+    private void execute(final Authentication auth) {
+        try (var ignored = ACL.as2(auth)) {
+            status = "running in thread: " + Thread.currentThread().getName();
+            getContext().onSuccess(run());
+        }
+        catch (Throwable throwable) {
+            getContext().onFailure(throwable);
+        }
+        finally {
+            status = null;
+        }
+    }
+
+    @Override
+    public void stop(final Throwable cause) throws Exception {
+        var running = task;
+        if (running != null) {
+            running.cancel(true);
+        }
+        super.stop(cause);
+    }
+
+    @Override
+    public void onResume() {
+        getContext().onFailure(new IOException("Resume after a restart is not supported for " + this));
+    }
+
+    @Override
+    public String getStatus() {
+        var current = status;
+        if (current != null) {
+            return current;
+        }
+        var running = task;
+        if (running == null || running.isDone()) {
+            return "not running";
+        }
+        return "waiting for one of the running steps to finish";
+    }
+
+    // The following methods provide the same API as AbstractExecution, they are implemented by StepContextAccessor
+
+    /**
+     * Returns the associated pipeline run, see {@link AbstractExecution#getRun()}.
+     *
+     * @return the run
+     * @throws IOException
+     *         if the run could not be resolved
+     * @throws InterruptedException
+     *         if the user canceled the run
+     */
+    protected Run<?, ?> getRun() throws IOException, InterruptedException {
+        return getAccessor().getRun();
+    }
+
+    /**
+     * Returns a channel to the agent, see {@link AbstractExecution#getChannel()}.
+     *
+     * @return the channel
+     * @throws IOException
+     *         if the computer could not be resolved
+     * @throws InterruptedException
+     *         if the user canceled the run
+     */
+    protected Optional<VirtualChannel> getChannel() throws IOException, InterruptedException {
+        return getAccessor().getChannel();
+    }
+
+    /**
+     * Returns Jenkins' build folder, see {@link AbstractExecution#getBuildFolder()}.
+     *
+     * @return the build folder
+     * @throws IOException
+     *         if the build folder could not be resolved
+     * @throws InterruptedException
+     *         if the user canceled the run
+     */
+    protected FilePath getBuildFolder() throws IOException, InterruptedException {
+        return getAccessor().getBuildFolder();
+    }
+
+    /**
+     * Returns the workspace for this job, see {@link AbstractExecution#getWorkspace()}.
+     *
+     * @return the workspace
+     * @throws IOException
+     *         if the workspace could not be resolved
+     * @throws InterruptedException
+     *         if the user canceled the execution
+     */
+    protected FilePath getWorkspace() throws IOException, InterruptedException {
+        return getAccessor().getWorkspace();
+    }
+
+    /**
+     * Returns the {@link TaskListener} for this execution, see {@link AbstractExecution#getTaskListener()}.
+     *
+     * @return the task listener
+     * @throws InterruptedException
+     *         if the user canceled the execution
+     * @throws IOException
+     *         if the task listener could not be resolved
+     */
+    protected TaskListener getTaskListener() throws InterruptedException, IOException {
+        return getAccessor().getTaskListener();
+    }
+
+    /**
+     * Returns the charset for the specified encoding, see {@link AbstractExecution#getCharset(String)}.
+     *
+     * @param charset
+     *         identifier of the character set
+     *
+     * @return the charset
+     */
+    protected Charset getCharset(final String charset) {
+        return new ValidationUtilities().getCharset(charset);
+    }
+
+    /**
+     * Creates a {@link ResultHandler}, see {@link AbstractExecution#createResultHandler()}.
+     *
+     * @return a {@link ResultHandler} that sets the build result of the {@link Run} or stage
+     * @throws InterruptedException
+     *         if the user canceled the execution
+     * @throws IOException
+     *         if the required {@link FlowNode} instance is not found
+     */
+    protected ResultHandler createResultHandler() throws InterruptedException, IOException {
+        return getAccessor().createResultHandler();
+    }
+
+    /**
+     * Creates a {@link BatchingResultHandler}, see {@link AbstractExecution#createBatchingResultHandler()}.
+     *
+     * @return a {@link BatchingResultHandler} that sets the build result of the {@link Run} or stage
+     * @throws InterruptedException
+     *         if the user canceled the execution
+     * @throws IOException
+     *         if the required {@link FlowNode} instance is not found
+     */
+    protected BatchingResultHandler createBatchingResultHandler() throws InterruptedException, IOException {
+        return getAccessor().createBatchingResultHandler();
+    }
+
+    private StepContextAccessor getAccessor() {
+        var current = accessor;
+        if (current == null) {
+            synchronized (this) {
+                current = accessor;
+                if (current == null) {
+                    current = new StepContextAccessor(getContext(), this);
+                    accessor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static synchronized ThrottledExecutor getExecutor() {
+        if (executor == null) {
+            executor = new ThrottledExecutor(createExecutor(), SystemProperties.getInteger(
+                    AbstractVirtualThreadExecution.class.getName() + ".maxConcurrency", DEFAULT_MAX_CONCURRENCY));
+        }
+        return executor;
+    }
+
+    private static ExecutorService createExecutor() {
+        return createExecutor(Runtime.version().feature());
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task. If the specified Java version is older than
+     * {@link #VIRTUAL_THREADS_MIN_VERSION} or if the JVM does not support virtual threads, then a cached pool of daemon
+     * threads will be used.
+     *
+     * @param javaVersion
+     *         the feature version of the running JVM
+     *
+     * @return the executor
+     */
+    @VisibleForTesting
+    static ExecutorService createExecutor(final int javaVersion) {
+        if (javaVersion >= VIRTUAL_THREADS_MIN_VERSION) {
+            try {
+                var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) factory.invoke(null);
+            }
+            catch (ReflectiveOperationException exception) {
+                LOGGER.log(Level.FINE, "Virtual threads are not supported, using a pool of platform threads",
+                        exception);
+            }
+        }
+        return Executors.newCachedThreadPool(
+                new NamingThreadFactory(new DaemonThreadFactory(), "AbstractVirtualThreadExecution"));
+    }
+
+    /**
+     * Limits the number of step bodies that run concurrently in the controller. A pool of platform threads bounds the
+     * concurrency implicitly, virtual threads do not: without a limit, a burst of builds would parse their reports and
+     * keep them in the heap of the controller at the same time. The limit is global, since all executions share the
+     * heap, the remoting channels, and the disks of the controller. Tasks that exceed the limit are stored in a queue
+     * and are handed over to the executor when a running task has been finished. So waiting tasks do not occupy a
+     * thread, even if the executor uses a pool of platform threads. The queue is FIFO, so tasks start in the order they
+     * have been submitted and a waiting task will not be starved by tasks that have been submitted later.
+     */
+    static final class ThrottledExecutor {
+        private final Executor delegate;
+        private final int maxConcurrency;
+        private final Queue<FutureTask<?>> waiting = new ArrayDeque<>();
+        private int running;
+
+        /**
+         * Creates a new instance of {@link ThrottledExecutor}.
+         *
+         * @param delegate
+         *         the executor that runs the tasks
+         * @param maxConcurrency
+         *         the maximum number of tasks that run concurrently
+         */
+        ThrottledExecutor(final Executor delegate, final int maxConcurrency) {
+            this.delegate = delegate;
+            this.maxConcurrency = Math.max(1, maxConcurrency);
+        }
+
+        /**
+         * Submits the specified task. The task will be started immediately if the limit of running tasks has not been
+         * reached yet, otherwise it will be queued until a running task has been finished. A canceled task will be
+         * skipped when it is removed from the queue.
+         *
+         * @param task
+         *         the task to run
+         *
+         * @return a future that represents the pending completion of the task
+         */
+        synchronized Future<?> submit(final Runnable task) {
+            var future = new FutureTask<Void>(task, null);
+            if (running < maxConcurrency) {
+                running++;
+                start(future);
+            }
+            else {
+                waiting.add(future);
+            }
+            return future;
+        }
+
+        @VisibleForTesting
+        synchronized int getWaitingCount() {
+            return waiting.size();
+        }
+
+        private void start(final FutureTask<?> future) {
+            delegate.execute(() -> {
+                try {
+                    future.run();
+                }
+                finally {
+                    finish();
+                }
+            });
+        }
+
+        private synchronized void finish() {
+            var next = waiting.poll();
+            if (next == null) {
+                running--;
+            }
+            else {
+                start(next);
+            }
+        }
+    }
+}
@@ -9,20 +9,36 @@ import org.apache.tools.ant.types.selectors.TypeSelector.FileType;
 
 import edu.hm.hafner.util.FilteredLog;
 import edu.hm.hafner.util.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serial;
 import java.io.Serializable;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BinaryOperator;
 
 import hudson.remoting.VirtualChannel;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
 import jenkins.MasterToSlaveFileCallable;
 
 import io.jenkins.plugins.util.AgentFileVisitor.FileVisitorResult;
@@ -48,6 +64,17 @@ public abstract class AgentFileVisitor<T extends Serializable>
     private final boolean errorOnEmptyFiles;
     private final FileSystemFacade fileSystemFacade;
     private static final String EMPTY_FILE = "Skipping file '%s' because it's empty";
+    private static final String LOG_TITLE = "Errors during parsing";
+    /** The minimum number of results that will be combined in parallel. */
+    static final int PARALLEL_COMBINE_THRESHOLD = 64;
+
+    @CheckForNull
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "Only serializable sinks are accepted, see setLogSink")
+    private LogSink logSink;
+    private boolean isPayloadSizeReported;
+    private int compressionThreshold;
+    private long fileTimeout;
+    private long totalTimeout;
 
     /**
      * Creates a new instance of {@link AgentFileVisitor}.
@@ -76,9 +103,105 @@ public abstract class AgentFileVisitor<T extends Serializable>
         this.fileSystemFacade = fileSystemFacade;
     }
 
+    /**
+     * Sets a sink that receives all log messages immediately while the files are scanned. Since this visitor is
+     * invoked on an agent, the sink must be {@link Serializable}, e.g., a {@link ConsoleLogSink}. The messages are
+     * still part of the log of the {@link FileVisitorResult}: a {@link LogHandler} skips the messages that have been
+     * streamed already, see {@link StreamingLog} for details.
+     *
+     * @param logSink
+     *         the sink for the log messages
+     * @param <S>
+     *         the type of the sink
+     */
+    public <S extends LogSink & Serializable> void setLogSink(final S logSink) {
+        this.logSink = logSink;
+    }
+
+    /**
+     * Determines whether the size of the results should be reported in the log. If enabled, the results will be
+     * serialized once more on the agent to measure the number of bytes (and the time) that are required to transfer
+     * the results through the remoting channel. This option should be enabled only to analyze performance problems.
+     *
+     * @param isPayloadSizeReported
+     *         {@code true} if the size of the results should be reported, {@code false} otherwise
+     */
+    public void setPayloadSizeReported(final boolean isPayloadSizeReported) {
+        this.isPayloadSizeReported = isPayloadSizeReported;
+    }
+
+    /**
+     * Enables the compression of the results. If the serialized form of the results exceeds the specified threshold,
+     * then the results will be compressed on the agent before they are transferred to the controller. The results are
+     * decompressed transparently when the {@link FileVisitorResult} is deserialized on the controller, and equal
+     * strings of the results are deduplicated. By default, the results are neither compressed nor deduplicated, so
+     * that the results can contain objects that are bound to the remoting channel, e.g., a {@link hudson.FilePath}.
+     *
+     * @param compressionThreshold
+     *         the minimum size (in bytes) of the serialized results that will be compressed, or 0 to disable the
+     *         compression
+     * @see CompressedPayload#DEFAULT_THRESHOLD
+     */
+    public void setCompressionThreshold(final int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * Sets the maximum time to process a single file. If the processing of a file takes longer, then the processing
+     * will be interrupted and the file will be skipped. By default, there is no timeout.
+     *
+     * @param timeout
+     *         the maximum time to process a single file, or {@link Duration#ZERO} to disable the timeout
+     */
+    public void setFileTimeout(final Duration timeout) {
+        fileTimeout = timeout.toMillis();
+    }
+
+    /**
+     * Sets the maximum time to scan all files. If the scanning takes longer, then the processing of the current file
+     * will be interrupted and all remaining files will be skipped. By default, there is no timeout.
+     *
+     * @param timeout
+     *         the maximum time to scan all files, or {@link Duration#ZERO} to disable the timeout
+     */
+    public void setTotalTimeout(final Duration timeout) {
+        totalTimeout = timeout.toMillis();
+    }
+
+    private FilteredLog createLog() {
+        if (logSink == null) {
+            return new FilteredLog(LOG_TITLE);
+        }
+        return new StreamingLog(LOG_TITLE, logSink);
+    }
+
+    /**
+     * Scans the files in the specified workspace. The scanning stops as soon as the current thread is interrupted,
+     * e.g., if the build has been aborted: in this case, the results of the files that have been processed so far
+     * are returned and all other files are reported as skipped, see {@link FileVisitorResult#getSkippedFiles()}.
+     *
+     * @param workspace
+     *         the workspace to scan
+     * @param channel
+     *         the channel to the controller
+     *
+     * @return the results of the scanned files
+     */
     @Override
     public final FileVisitorResult<T> invoke(final File workspace, final VirtualChannel channel) {
-        var log = new FilteredLog("Errors during parsing");
+        try {
+            return scan(workspace);
+        }
+        finally {
+            if (logSink != null) {
+                logSink.flush();
+            }
+        }
+    }
+
+    private FileVisitorResult<T> scan(final File workspace) {
+        var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(totalTimeout);
+        var log = createLog();
         log.logInfo("Searching for all files in '%s' that match the pattern '%s'",
                 fileSystemFacade.getAbsolutePath(workspace), filePattern);
         log.logInfo("Traversing of symbolic links: %s", followSymbolicLinks ? "enabled" : "disabled");
@@ -92,13 +215,44 @@ public abstract class AgentFileVisitor<T extends Serializable>
         else {
             log.logInfo("-> found %s", plural(fileNames.length, "file"));
 
-            return new FileVisitorResult<>(log, scanFiles(workspace, fileNames, log));
+            List<String> skippedFiles = new ArrayList<>();
+            var results = scanFiles(workspace, fileNames, log, deadline, skippedFiles);
+            var combiner = getCombiner();
+            if (combiner.isPresent() && results.size() > 1) {
+                results = combineResults(results, combiner.get(), log);
+            }
+            if (isPayloadSizeReported) {
+                PayloadMeter.report(plural(results.size(), "result"), new ArrayList<>(results), log);
+            }
+            FileVisitorResult<T> result;
+            if (compressionThreshold > 0) {
+                result = new FileVisitorResult<>(log, results, compressionThreshold, getClass());
+            }
+            else {
+                result = new FileVisitorResult<>(log, results);
+            }
+            result.setSkippedFiles(skippedFiles);
+            return result;
         }
     }
 
-    private List<T> scanFiles(final File workspace, final String[] fileNames, final FilteredLog log) {
+    private List<T> scanFiles(final File workspace, final String[] fileNames, final FilteredLog log,
+            final long deadline, final List<String> skippedFiles) {
+        var charset = new ValidationUtilities().getCharset(encoding);
+        var isTimeoutEnabled = fileTimeout > 0 || totalTimeout > 0;
         List<T> results = new ArrayList<>();
-        for (String fileName : fileNames) {
+        for (int position = 0; position < fileNames.length; position++) {
+            if (Thread.currentThread().isInterrupted()) {
+                skipRemainingFiles(fileNames, position, skippedFiles, log, "the scanning has been interrupted");
+                break;
+            }
+            if (totalTimeout > 0 && System.nanoTime() - deadline >= 0) {
+                skipRemainingFiles(fileNames, position, skippedFiles, log,
+                        "the total timeout of %d ms has been exceeded".formatted(totalTimeout));
+                break;
+            }
+
+            var fileName = fileNames[position];
             var file = fileSystemFacade.resolve(workspace, fileName);
 
             if (fileSystemFacade.isNotReadable(file)) {
@@ -112,20 +266,158 @@ public abstract class AgentFileVisitor<T extends Serializable>
                     log.logInfo(EMPTY_FILE, fileName);
                 }
             }
+            else if (isTimeoutEnabled) {
+                processWithTimeout(file, fileName, charset, deadline, log, results, skippedFiles);
+            }
             else {
-                Optional<T> result = processFile(file, new ValidationUtilities().getCharset(encoding), log);
-                if (result.isPresent()) {
-                    results.add(result.get());
-                    log.logInfo("Successfully processed file '%s'", fileName);
-                }
-                else {
-                    log.logError("No result created for file '%s' due to some errors", fileName);
-                }
+                addResult(processFile(file, charset, log), fileName, results, log);
             }
         }
         return results;
     }
 
+    private void addResult(final Optional<T> result, final String fileName, final List<T> results,
+            final FilteredLog log) {
+        if (result.isPresent()) {
+            results.add(result.get());
+            log.logInfo("Successfully processed file '%s'", fileName);
+        }
+        else {
+            log.logError("No result created for file '%s' due to some errors", fileName);
+        }
+    }
+
+    /**
+     * Processes the specified file in a separate thread and waits until the processing has been finished or the
+     * timeout has been exceeded. If the timeout has been exceeded or the waiting thread has been interrupted, then the
+     * file will be skipped. The worker thread writes to its own log that is merged into the log of the scan only if the
+     * file has been processed in time: a worker that ignores the interruption and finishes later cannot modify the log
+     * of the scan anymore. If a log sink has been set, then the messages of the worker are forwarded to the sink as
+     * soon as they are logged, until the file is skipped.
+     */
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private void processWithTimeout(final Path file, final String fileName, final Charset charset,
+            final long deadline, final FilteredLog log, final List<T> results, final List<String> skippedFiles) {
+        var timeout = getTimeout(deadline);
+        var workerSink = logSink == null ? null : new WorkerSink(logSink);
+        var workerLog = createWorkerLog(fileName, workerSink);
+        Future<Optional<T>> future = TimeoutPool.EXECUTOR.submit(() -> processFile(file, charset, workerLog));
+        try {
+            var result = future.get(timeout, TimeUnit.MILLISECONDS);
+            mergeLog(workerLog, log);
+            addResult(result, fileName, results, log);
+        }
+        catch (TimeoutException exception) {
+            detach(workerSink);
+            future.cancel(true);
+            skippedFiles.add(fileName);
+            log.logError("Skipping file '%s' because the processing exceeded the timeout of %d ms",
+                    fileName, timeout);
+            reportStuckWorkers(log);
+        }
+        catch (InterruptedException exception) {
+            detach(workerSink);
+            future.cancel(true);
+            skippedFiles.add(fileName);
+            log.logError("Skipping file '%s' because the scanning has been interrupted", fileName);
+
+            Thread.currentThread().interrupt(); // the remaining files will be skipped as well
+        }
+        catch (ExecutionException exception) {
+            var cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private FilteredLog createWorkerLog(final String fileName, @CheckForNull final LogSink workerSink) {
+        var title = "Errors while processing file '%s':".formatted(fileName);
+        if (workerSink == null) {
+            return new FilteredLog(title);
+        }
+        return new StreamingLog(title, workerSink);
+    }
+
+    private void detach(@CheckForNull final WorkerSink workerSink) {
+        if (workerSink != null) {
+            workerSink.detach();
+        }
+    }
+
+    private void mergeLog(final FilteredLog workerLog, final FilteredLog log) {
+        if (log instanceof StreamingLog streamingLog && workerLog instanceof StreamingLog) {
+            streamingLog.appendStreamed(workerLog); // the worker has forwarded its messages to the sink already
+        }
+        else {
+            workerLog.getInfoMessages().forEach(log::logInfo);
+            workerLog.getErrorMessages().forEach(log::logError); // the first line is the title of the worker log
+        }
+    }
+
+    private void reportStuckWorkers(final FilteredLog log) {
+        var busyWorkers = TimeoutPool.EXECUTOR.getActiveCount();
+        if (busyWorkers >= TimeoutPool.MAXIMUM_THREADS) {
+            log.logError("All %d worker threads are busy: workers that ignore the interruption might block the "
+                    + "processing of the remaining files", busyWorkers);
+        }
+    }
+
+    private long getTimeout(final long deadline) {
+        var timeout = fileTimeout > 0 ? fileTimeout : Long.MAX_VALUE;
+        if (totalTimeout > 0) {
+            var remaining = deadline - System.nanoTime();
+            timeout = Math.min(timeout, (remaining + 999_999) / 1_000_000); // round up to reach the deadline
+        }
+        return Math.max(timeout, 0);
+    }
+
+    private void skipRemainingFiles(final String[] fileNames, final int position, final List<String> skippedFiles,
+            final FilteredLog log, final String reason) {
+        var remaining = Arrays.asList(fileNames).subList(position, fileNames.length);
+        skippedFiles.addAll(remaining);
+        log.logError("Skipping %s because %s", plural(remaining.size(), "remaining file"), reason);
+    }
+
+    private List<T> combineResults(final List<T> results, final BinaryOperator<T> combiner, final FilteredLog log) {
+        var start = System.nanoTime();
+        BinaryOperator<T> checkedCombiner = (first, second) -> Objects.requireNonNull(combiner.apply(first, second),
+                () -> "The combiner of " + getClass().getName() + " returned null");
+        Optional<T> combined;
+        if (results.size() >= PARALLEL_COMBINE_THRESHOLD) {
+            combined = CombinerPool.POOL.submit(() -> results.parallelStream().reduce(checkedCombiner)).join();
+        }
+        else {
+            combined = results.stream().reduce(checkedCombiner);
+        }
+        log.logInfo("-> combined %s into a single result (in %d ms)", plural(results.size(), "result"),
+                (System.nanoTime() - start) / 1_000_000);
+        return combined.map(List::of).orElse(results);
+    }
+
+    /**
+     * Returns the function that combines two results into a new result. If present, then the results of the individual
+     * files will be combined on the agent into a single result before they are returned to the controller, so the
+     * controller receives a {@link FileVisitorResult} with at most one result. By default, the results are not
+     * combined.
+     *
+     * <p>
+     * Large lists of results are combined in parallel as a tree reduction: the function therefore must be associative,
+     * must not modify its parameters, must be thread-safe, and must not return {@code null}. The order of the results
+     * is preserved, i.e. the first parameter always belongs to the files that have been scanned before the files of
+     * the second parameter.
+     * </p>
+     *
+     * @return the function to combine two results, or an empty optional if the results should not be combined
+     */
+    protected Optional<BinaryOperator<T>> getCombiner() {
+        return Optional.empty();
+    }
+
     /**
      * Creates the correct singular or plural form of the specified word depending on the size of the elements.
      *
@@ -142,6 +434,68 @@ public abstract class AgentFileVisitor<T extends Serializable>
 
     protected abstract Optional<T> processFile(Path file, Charset charset, FilteredLog log);
 
+    /**
+     * The pool that runs the processing of the individual files if a timeout has been set. The pool is shared by all
+     * visitors of the JVM and created on first use. The number of threads is bounded, so that workers that ignore the
+     * interruption of their threads cannot accumulate an unlimited number of threads on the agent. If all threads are
+     * blocked, then new files are queued and will be skipped when their timeout has been exceeded.
+     */
+    private static final class TimeoutPool {
+        static final int MAXIMUM_THREADS = 16;
+        static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+        private static ThreadPoolExecutor createExecutor() {
+            var pool = new ThreadPoolExecutor(MAXIMUM_THREADS, MAXIMUM_THREADS, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    new NamingThreadFactory(new DaemonThreadFactory(), AgentFileVisitor.class.getSimpleName()));
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+
+    /**
+     * Forwards the messages of a worker thread to the log sink of the visitor. The sink will be detached if the file
+     * has been skipped, so that a worker that ignores the interruption does not write to the sink anymore.
+     */
+    private static final class WorkerSink implements LogSink {
+        private final LogSink sink;
+        private volatile boolean isDetached;
+
+        WorkerSink(final LogSink sink) {
+            this.sink = sink;
+        }
+
+        void detach() {
+            isDetached = true;
+        }
+
+        @Override
+        public void logInfo(final String message) {
+            if (!isDetached) {
+                sink.logInfo(message);
+            }
+        }
+
+        @Override
+        public void logError(final String message) {
+            if (!isDetached) {
+                sink.logError(message);
+            }
+        }
+    }
+
+    /**
+     * The pool that combines large lists of results in parallel. A dedicated pool is used so that the combination
+     * does not occupy the common pool of the agent. The pool is created on first use.
+     */
+    private static final class CombinerPool {
+        static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(AgentFileVisitor.class.getSimpleName() + "-combiner-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
     /**
      * File system facade that can be replaced by a stub in unit tests.
      */
@@ -250,7 +604,9 @@ public abstract class AgentFileVisitor<T extends Serializable>
 
     /**
      * The results for all found files. Logging messages that have been recorded during the scanning process will be
-     * also available.
+     * also available. If compression has been enabled, then the results are transferred in a {@link CompressedPayload}:
+     * the results are restored when this object is deserialized and equal strings are replaced with a single instance.
+     * Otherwise, the results are transferred as is.
      *
      * @param <T>
      *         the type of the results
@@ -261,6 +617,11 @@ public abstract class AgentFileVisitor<T extends Serializable>
         private final FilteredLog log;
         @SuppressWarnings("PMD.LooseCoupling")
         private final ArrayList<T> results;
+        @CheckForNull
+        @SuppressWarnings("PMD.LooseCoupling")
+        private final CompressedPayload<ArrayList<T>> payload;
+        @SuppressWarnings("PMD.LooseCoupling")
+        private ArrayList<String> skippedFiles = new ArrayList<>();
 
         FileVisitorResult(final FilteredLog log) {
             this(log, Collections.emptyList());
@@ -269,6 +630,34 @@ public abstract class AgentFileVisitor<T extends Serializable>
         FileVisitorResult(final FilteredLog log, final List<T> results) {
             this.log = log;
             this.results = new ArrayList<>(results);
+            this.payload = null;
+        }
+
+        FileVisitorResult(final FilteredLog log, final List<T> results, final int compressionThreshold,
+                final Class<?> visitorType) {
+            this.log = log;
+            this.results = new ArrayList<>(); // the results are part of the payload
+            this.payload = CompressedPayload.of(new ArrayList<>(results), compressionThreshold, visitorType);
+            if (payload.isCompressed()) {
+                log.logInfo("-> compressed results from %s to %s", PayloadMeter.formatSize(payload.getSize()),
+                        PayloadMeter.formatSize(payload.getTransferSize()));
+            }
+        }
+
+        @Serial
+        private void readObject(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+            input.defaultReadObject();
+
+            if (payload != null) {
+                payload.get(log); // deserialize the results right away to report the deduplication statistics
+            }
+            if (skippedFiles == null) { // results of older agents
+                skippedFiles = new ArrayList<>();
+            }
+        }
+
+        void setSkippedFiles(final List<String> skippedFiles) {
+            this.skippedFiles = new ArrayList<>(skippedFiles);
         }
 
         public FilteredLog getLog() {
@@ -276,9 +665,33 @@ public abstract class AgentFileVisitor<T extends Serializable>
         }
 
         public List<T> getResults() {
+            if (payload != null) {
+                return Collections.unmodifiableList(payload.get(log));
+            }
             return Collections.unmodifiableList(results);
         }
 
+        /**
+         * Returns the files that have not been processed, either because the scanning has been interrupted or because
+         * a timeout has been exceeded.
+         *
+         * @return the names of the skipped files
+         */
+        public List<String> getSkippedFiles() {
+            return Collections.unmodifiableList(skippedFiles);
+        }
+
+        /**
+         * Returns whether all files have been processed. If the scanning has been interrupted or a timeout has been
+         * exceeded, then the results contain only the results of the processed files.
+         *
+         * @return {@code true} if all files have been processed, {@code false} if some files have been skipped
+         * @see #getSkippedFiles()
+         */
+        public boolean isComplete() {
+            return skippedFiles.isEmpty();
+        }
+
         /**
          * Returns whether there have been error messages recorded.
          *
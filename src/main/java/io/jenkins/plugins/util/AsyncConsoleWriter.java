@@ -0,0 +1,205 @@
+package io.jenkins.plugins.util;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+/**
+ * Writes console messages in the background. All write tasks of a writer are executed in the order of their
+ * submission. The tasks of all writers are executed by a shared and bounded pool of daemon threads, a writer occupies a
+ * thread only while it has pending tasks. The size of the pending messages is bounded: if the background threads cannot
+ * keep up with the submitted messages, then the submitting thread will be blocked until there is space for the new
+ * message. If there is still no space after {@link #SUBMIT_TIMEOUT} milliseconds, or if the submitting thread is
+ * interrupted (e.g., since the build has been aborted), then the message is written synchronously. Such a message might
+ * be written before messages that are still pending.
+ *
+ * @author Ullrich Hafner
+ */
+class AsyncConsoleWriter implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(AsyncConsoleWriter.class.getName());
+
+    /** The default number of characters that can be pending. */
+    static final int DEFAULT_CAPACITY = 1024 * 1024;
+    /** The maximum time (in milliseconds) to wait for space for a new message. */
+    static final long SUBMIT_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+    /** The maximum number of threads that write the messages of all writers. */
+    static final int MAXIMUM_THREADS = 16;
+
+    private static final ExecutorService SHARED_EXECUTOR = createSharedExecutor();
+
+    private final Executor executor;
+    private final int maximumPermits;
+    private final Semaphore capacity;
+    private final long submitTimeout;
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private boolean isScheduled; // guarded by tasks
+    private volatile boolean isClosed;
+
+    AsyncConsoleWriter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    AsyncConsoleWriter(final int capacity) {
+        this(SHARED_EXECUTOR, capacity);
+    }
+
+    AsyncConsoleWriter(final Executor executor, final int capacity) {
+        this(executor, capacity, SUBMIT_TIMEOUT);
+    }
+
+    AsyncConsoleWriter(final Executor executor, final int capacity, final long submitTimeout) {
+        this.executor = executor;
+        this.maximumPermits = Math.max(1, capacity);
+        this.capacity = new Semaphore(maximumPermits);
+        this.submitTimeout = submitTimeout;
+    }
+
+    private static ExecutorService createSharedExecutor() {
+        var pool = new ThreadPoolExecutor(MAXIMUM_THREADS, MAXIMUM_THREADS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new NamingThreadFactory(new DaemonThreadFactory(), "AsyncLogHandler"));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Submits the specified write task for the specified lines. If the writer has been closed already, then the task
+     * will be executed synchronously.
+     *
+     * @param task
+     *         the task to execute in the background
+     * @param lines
+     *         the lines that will be written by the task, used to determine the size of the task
+     */
+    void submit(final Runnable task, final Collection<String> lines) {
+        submit(task, lines.stream().mapToInt(String::length).sum());
+    }
+
+    /**
+     * Submits the specified write task. If the writer has been closed already, if there is no space for the task
+     * within the timeout, or if the current thread is interrupted, then the task will be executed synchronously.
+     *
+     * @param task
+     *         the task to execute in the background
+     * @param size
+     *         the number of characters that will be written by the task
+     */
+    void submit(final Runnable task, final int size) {
+        if (isClosed) {
+            run(task, 0);
+            return;
+        }
+
+        // a message larger than the capacity must wait until all other messages have been written
+        var permits = Math.max(1, Math.min(size, maximumPermits));
+        if (acquire(permits)) {
+            enqueue(() -> run(task, permits));
+        }
+        else {
+            run(task, 0);
+        }
+    }
+
+    private boolean acquire(final int permits) {
+        try {
+            if (capacity.tryAcquire(permits, submitTimeout, TimeUnit.MILLISECONDS)) {
+                if (!isClosed) {
+                    return true;
+                }
+                capacity.release(permits); // the writer has been closed while waiting
+            }
+            else {
+                LOGGER.log(Level.FINE, "Console is too slow, writing the message synchronously");
+            }
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private void enqueue(final Runnable task) {
+        synchronized (tasks) {
+            tasks.add(task);
+            if (isScheduled) {
+                return;
+            }
+            isScheduled = true;
+        }
+        try {
+            executor.execute(this::drain);
+        }
+        catch (RejectedExecutionException exception) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Runnable next;
+            synchronized (tasks) {
+                next = tasks.poll();
+                if (next == null) {
+                    isScheduled = false;
+                    return;
+                }
+            }
+            next.run();
+        }
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void run(final Runnable task, final int permits) {
+        try {
+            task.run();
+        }
+        catch (RuntimeException exception) {
+            LOGGER.log(Level.WARNING, "Failed to write to console", exception);
+        }
+        finally {
+            capacity.release(permits);
+        }
+    }
+
+    /**
+     * Waits until all submitted tasks have been executed. If the waiting thread is interrupted, then the remaining
+     * tasks will still be written in the background.
+     */
+    void flush() {
+        var latch = new CountDownLatch(1);
+        enqueue(latch::countDown);
+        try {
+            latch.await();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Closes this writer and flushes all pending tasks. Threads that are waiting for space for their tasks are
+     * released and execute their tasks synchronously, as well as all tasks that are submitted afterward. Since the
+     * background threads are shared, a writer that has not been closed does not leak a thread: however, messages that
+     * are still pending might be written after the step has been finished.
+     */
+    @Override
+    public void close() {
+        isClosed = true;
+        capacity.release(maximumPermits); // wakes up all waiting threads, the capacity is not used anymore
+
+        flush();
+    }
+}
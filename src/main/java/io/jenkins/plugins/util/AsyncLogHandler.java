@@ -0,0 +1,120 @@
+package io.jenkins.plugins.util;
+
+import com.google.errorprone.annotations.FormatMethod;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.util.Collection;
+import java.util.List;
+
+import hudson.model.TaskListener;
+
+/**
+ * A {@link LogHandler} that writes the log messages asynchronously to the {@link TaskListener}. The messages are handed
+ * over to a bounded background writer, so the step thread is not blocked by slow console I/O. The order of the messages
+ * is preserved. Since messages might still be pending, this handler must be closed at the end of the step (even if the
+ * step fails), e.g., by using a try-with-resources statement:
+ *
+ * <pre>{@code
+ * try (var logHandler = new AsyncLogHandler(listener, "Coverage")) {
+ *     logHandler.log(logger);
+ *     ...
+ * }
+ * }</pre>
+ *
+ * <p>
+ * The messages are written by a pool of daemon threads that is shared by all handlers, so a handler that is not closed
+ * does not leak a thread. The number of characters of the pending messages is bounded, so large messages cannot
+ * exhaust the memory if the console is slow.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class AsyncLogHandler extends LogHandler implements AutoCloseable {
+    private final AsyncConsoleWriter writer;
+
+    /**
+     * Creates a new {@link AsyncLogHandler}.
+     *
+     * @param listener
+     *         the task listener that will print all log messages
+     * @param name
+     *         the name of the logger
+     */
+    public AsyncLogHandler(final TaskListener listener, final String name) {
+        this(listener, name, new AsyncConsoleWriter(), 0, 0);
+    }
+
+    /**
+     * Creates a new {@link AsyncLogHandler}.
+     *
+     * @param listener
+     *         the task listener that will print all log messages
+     * @param name
+     *         the name of the logger
+     * @param logger
+     *         the logger that contains the actual log messages
+     */
+    public AsyncLogHandler(final TaskListener listener, final String name, final FilteredLog logger) {
+        this(listener, name, new AsyncConsoleWriter(),
+                logger.getInfoMessages().size(), logger.getErrorMessages().size());
+    }
+
+    AsyncLogHandler(final TaskListener listener, final String name, final AsyncConsoleWriter writer,
+            final int infoPosition, final int errorPosition) {
+        super(new AsyncPluginLogger(createLogger(listener, name), writer),
+                new AsyncPluginLogger(createErrorLogger(listener, name), writer),
+                infoPosition, errorPosition);
+
+        this.writer = writer;
+    }
+
+    /**
+     * Waits until all pending messages have been written to the {@link TaskListener}.
+     */
+    @Override
+    public void flush() {
+        super.flush();
+
+        writer.flush();
+    }
+
+    /**
+     * Writes all pending messages to the {@link TaskListener} and stops the background writer. Messages that are logged
+     * afterward will be written synchronously.
+     */
+    @Override
+    public void close() {
+        super.flush();
+
+        writer.close();
+    }
+
+    /**
+     * A {@link PluginLogger} that submits all messages to an {@link AsyncConsoleWriter}.
+     */
+    private static class AsyncPluginLogger extends PluginLogger {
+        private final PluginLogger delegate;
+        private final AsyncConsoleWriter writer;
+
+        AsyncPluginLogger(final PluginLogger delegate, final AsyncConsoleWriter writer) {
+            super(delegate.getDelegate(), delegate.getPrefix().trim());
+
+            this.delegate = delegate;
+            this.writer = writer;
+        }
+
+        @Override
+        @FormatMethod
+        public void log(final String format, final Object... args) {
+            var line = format.formatted(args);
+            writer.submit(() -> delegate.logEachLine(List.of(line)), line.length());
+        }
+
+        @Override
+        public void logEachLine(final Collection<String> lines) {
+            var copy = List.copyOf(lines);
+            writer.submit(() -> delegate.logEachLine(copy), copy);
+        }
+    }
+}
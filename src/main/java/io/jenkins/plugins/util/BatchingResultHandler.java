@@ -0,0 +1,99 @@
+package io.jenkins.plugins.util;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jenkinsci.plugins.workflow.actions.WarningAction;
+import org.jenkinsci.plugins.workflow.graph.FlowNode;
+import hudson.model.Result;
+import hudson.model.Run;
+
+/**
+ * A {@link ResultHandler} that collects the published results in memory and writes them in a single step to the
+ * {@link Run} and the Pipeline stage. This handler behaves like the {@link PipelineResultHandler}, but the worst result
+ * and all messages are accumulated until {@link #flush()} is called at the end of the step. So the {@link FlowNode}
+ * and the {@link Run} are modified only once, even if many quality gates or tools publish a result.
+ *
+ * @author Ullrich Hafner
+ */
+public class BatchingResultHandler implements ResultHandler {
+    private final Run<?, ?> run;
+    private final FlowNode flowNode;
+
+    @CheckForNull
+    private Result runResult;
+    @CheckForNull
+    private Result stageResult;
+    private final List<String> messages = new ArrayList<>();
+
+    /**
+     * Creates a new instance of {@link BatchingResultHandler}.
+     *
+     * @param run
+     *         the run to set the result for
+     * @param flowNode
+     *         the flow node to add a warning to
+     */
+    public BatchingResultHandler(final Run<?, ?> run, final FlowNode flowNode) {
+        this.run = run;
+        this.flowNode = flowNode;
+    }
+
+    @Override
+    public synchronized void publishResult(final Result result, final String message) {
+        runResult = worstOf(runResult, result);
+
+        setStageResult(result, message);
+    }
+
+    private void setStageResult(final Result result, final String message) {
+        stageResult = worstOf(stageResult, result);
+        messages.add(message);
+    }
+
+    private Result worstOf(@CheckForNull final Result current, final Result result) {
+        if (current == null || result.isWorseThan(current)) {
+            return result;
+        }
+        return current;
+    }
+
+    @Override
+    public synchronized void publishResult(final QualityGateStatus status, final String message) {
+        switch (status) {
+            case NOTE:
+            case ERROR:
+                setStageResult(status.getResult(), message);
+                break;
+            case WARNING:
+            case FAILED:
+                publishResult(status.getResult(), message);
+                break;
+            default:
+                // ignore and do nothing
+        }
+    }
+
+    /**
+     * Writes the accumulated results to the {@link Run} and the Pipeline stage. The stage will be annotated with a
+     * single {@link WarningAction} that contains the worst result and all messages. Calling this method again without
+     * publishing new results does nothing.
+     */
+    public synchronized void flush() {
+        if (runResult != null) {
+            run.setResult(runResult);
+        }
+        if (stageResult != null) {
+            var existing = flowNode.getPersistentAction(WarningAction.class);
+            if (existing == null || existing.getResult().isBetterThan(stageResult)) {
+                flowNode.addOrReplaceAction(new WarningAction(stageResult).withMessage(String.join("\n", messages)));
+            }
+        }
+
+        runResult = null;
+        stageResult = null;
+        messages.clear();
+    }
+}
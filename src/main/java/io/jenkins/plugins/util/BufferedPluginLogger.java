@@ -0,0 +1,102 @@
+package io.jenkins.plugins.util;
+
+import edu.hm.hafner.util.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import java.io.PrintStream;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link PluginLogger} that writes multiple lines in large chunks. When logging a collection of lines, the prefixed
+ * lines are collected in a reusable buffer that is written to the console stream whenever the buffer exceeds the
+ * chunk size. So logging thousands of lines requires only a few (synchronized) writes to the console stream rather
+ * than one write for each line. The buffer is created on demand and released after each call if it has grown beyond
+ * a small size, so idle loggers do not retain large buffers.
+ *
+ * @author Ullrich Hafner
+ */
+public class BufferedPluginLogger extends PluginLogger {
+    /** The default size of the chunks (in characters) that are written to the console stream. */
+    static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    /** The capacity (in characters) of the buffer that is retained between calls. */
+    static final int RETAINED_CAPACITY = 1024;
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final int chunkSize;
+    @CheckForNull
+    private StringBuilder buffer;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Creates a new {@link BufferedPluginLogger}.
+     *
+     * @param logger
+     *         the logger to create
+     * @param pluginName
+     *         the name of the plugin
+     */
+    public BufferedPluginLogger(final PrintStream logger, final String pluginName) {
+        this(logger, pluginName, DEFAULT_CHUNK_SIZE);
+    }
+
+    BufferedPluginLogger(final PrintStream logger, final String pluginName, final int chunkSize) {
+        super(logger, pluginName);
+
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Logs the specified messages. The messages are written in chunks to the console stream.
+     *
+     * @param lines
+     *         the messages to log
+     */
+    @Override
+    public void logEachLine(final Collection<String> lines) {
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            var chunk = getBuffer();
+            var prefix = getPrefix();
+            for (String line : lines) {
+                chunk.append(prefix).append(line).append(LINE_SEPARATOR);
+                if (chunk.length() >= chunkSize) {
+                    writeBuffer(chunk);
+                }
+            }
+            writeBuffer(chunk);
+            if (chunk.capacity() > RETAINED_CAPACITY) {
+                buffer = null; // do not keep large buffers of rarely used loggers
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private StringBuilder getBuffer() {
+        if (buffer == null) {
+            buffer = new StringBuilder(Math.min(chunkSize, RETAINED_CAPACITY));
+        }
+        return buffer;
+    }
+
+    private void writeBuffer(final StringBuilder chunk) {
+        if (chunk.length() > 0) {
+            getDelegate().print(chunk);
+            getDelegate().flush();
+            chunk.setLength(0);
+        }
+    }
+
+    @VisibleForTesting
+    int getBufferCapacity() {
+        return buffer == null ? 0 : buffer.capacity();
+    }
+}
@@ -0,0 +1,286 @@
+package io.jenkins.plugins.util;
+
+import org.apache.commons.lang3.StringUtils;
+
+import edu.hm.hafner.util.FilteredLog;
+import edu.hm.hafner.util.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import hudson.EnvVars;
+
+/**
+ * Resolves environment parameters in a string value using compiled templates. In contrast to the
+ * {@link EnvironmentResolver}, a value is parsed only once into a sequence of literal and variable segments. References
+ * to other variables in the values of environment variables are then resolved in a single pass by following the
+ * dependencies between the variables: the value of each variable is resolved at most once per call. The compiled
+ * templates of the values that should be expanded are cached, so the same patterns (e.g., the patterns of a step that
+ * is invoked for several tools) are parsed only once. The values of the environment variables are compiled only for
+ * the duration of a single call: they typically change with every build and might contain secrets that must not be
+ * retained on the heap.
+ *
+ * <p>
+ * The syntax of the variable references is the same as in {@link hudson.Util#replaceMacro(String, Map)}. Note that the
+ * results might differ from {@link EnvironmentResolver} in some corner cases:
+ * </p>
+ * <ul>
+ *     <li>An escaped dollar sign ({@code $$}) is replaced by a literal dollar sign that is not expanded again.</li>
+ *     <li>References that form a cycle are left unresolved, e.g., {@code $A} with {@code A=$B} and {@code B=$A}.</li>
+ *     <li>The maximum depth limits the nesting of variable references rather than the number of expansion passes.</li>
+ * </ul>
+ *
+ * <p>
+ * In diagnostics mode (see {@link #resolve(EnvVars, String)}), the references between the variables are analyzed before
+ * the value is expanded. Variables that are part of a cycle are not expanded at all, and the cycles as well as the
+ * undefined variables are reported.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class CompiledEnvironmentResolver extends EnvironmentResolver {
+    /** Maximum number of compiled templates that are cached. */
+    static final int TEMPLATE_CACHE_SIZE = 1000;
+
+    private static final Map<String, EnvironmentTemplate> TEMPLATES = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, EnvironmentTemplate> eldest) {
+                    return size() > TEMPLATE_CACHE_SIZE;
+                }
+            });
+
+    /**
+     * Creates a new instance of {@link CompiledEnvironmentResolver}. Resolves nested variable references up to
+     * {@link #RESOLVE_VARIABLE_DEPTH_DEFAULT} levels.
+     */
+    public CompiledEnvironmentResolver() {
+        this(RESOLVE_VARIABLE_DEPTH_DEFAULT);
+    }
+
+    @VisibleForTesting
+    CompiledEnvironmentResolver(final int resolveVariablesDepth) {
+        super(resolveVariablesDepth);
+    }
+
+    /**
+     * Resolves build parameters in the specified string value. Nested references are resolved up to the configured
+     * depth.
+     *
+     * @param environment
+     *         environment variables
+     * @param nonExpandedValue
+     *         the value to expand
+     *
+     * @return the expanded value
+     */
+    @Override
+    public String expandEnvironmentVariables(@CheckForNull final EnvVars environment, final String nonExpandedValue) {
+        return createResolution(environment).expandValue(nonExpandedValue);
+    }
+
+    /**
+     * Resolves build parameters in all specified string values. The resolved variables are shared between the
+     * values, so each referenced variable is resolved only once.
+     *
+     * @param environment
+     *         environment variables
+     * @param nonExpandedValues
+     *         the values to expand
+     *
+     * @return the expanded values
+     */
+    @Override
+    public List<String> expandEnvironmentVariables(@CheckForNull final EnvVars environment,
+            final Collection<String> nonExpandedValues) {
+        var resolution = createResolution(environment);
+        List<String> expanded = new ArrayList<>(nonExpandedValues.size());
+        for (String value : nonExpandedValues) {
+            expanded.add(resolution.expandValue(value));
+        }
+        return expanded;
+    }
+
+    /**
+     * Resolves build parameters in all values of the specified map. The resolved variables are shared between the
+     * values, so each referenced variable is resolved only once.
+     *
+     * @param environment
+     *         environment variables
+     * @param nonExpandedValues
+     *         the values to expand, mapped by a key (e.g., the name of the field)
+     *
+     * @return the expanded values, mapped by the same keys
+     */
+    @Override
+    public Map<String, String> expandEnvironmentVariables(@CheckForNull final EnvVars environment,
+            final Map<String, String> nonExpandedValues) {
+        var resolution = createResolution(environment);
+        Map<String, String> expanded = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : nonExpandedValues.entrySet()) {
+            expanded.put(entry.getKey(), resolution.expandValue(entry.getValue()));
+        }
+        return expanded;
+    }
+
+    /**
+     * Resolves build parameters in the specified string value in diagnostics mode. Before the value is expanded, the
+     * graph of references between the variables is analyzed. Variables that are part of a cycle are skipped
+     * immediately, so they do not need to be expanded until the maximum depth has been reached.
+     *
+     * @param environment
+     *         environment variables
+     * @param nonExpandedValue
+     *         the value to expand
+     *
+     * @return the expanded value, the detected cycles, and the unresolved variables
+     */
+    public EnvironmentResolution resolve(@CheckForNull final EnvVars environment, final String nonExpandedValue) {
+        var variables = environment == null ? new EnvVars() : environment;
+        var graph = VariableGraph.analyze(variables, List.of(nonExpandedValue));
+        var value = new Resolution(variables, getResolveVariablesDepth(), graph).expandValue(nonExpandedValue);
+
+        return new EnvironmentResolution(value, graph.getCycles(), graph.getUndefinedVariables());
+    }
+
+    /**
+     * Resolves build parameters in the specified string value in diagnostics mode. Detected cycles and undefined
+     * variables are reported in the specified log.
+     *
+     * @param environment
+     *         environment variables
+     * @param nonExpandedValue
+     *         the value to expand
+     * @param log
+     *         the log to report the cycles and undefined variables to
+     *
+     * @return the expanded value
+     * @see #resolve(EnvVars, String)
+     */
+    public String expandEnvironmentVariables(@CheckForNull final EnvVars environment, final String nonExpandedValue,
+            final FilteredLog log) {
+        var resolution = resolve(environment, nonExpandedValue);
+        resolution.report(log);
+        return resolution.getValue();
+    }
+
+    private Resolution createResolution(@CheckForNull final EnvVars environment) {
+        return new Resolution(environment == null ? new EnvVars() : environment, getResolveVariablesDepth(), null);
+    }
+
+    /**
+     * Returns the compiled template for the specified value. The template is created on the first request and cached
+     * afterward. This method must be used only for the values that should be expanded (i.e., the patterns provided by
+     * the caller), never for the values of environment variables.
+     *
+     * @param value
+     *         the value to compile
+     *
+     * @return the compiled template
+     */
+    static EnvironmentTemplate compile(final String value) {
+        var template = TEMPLATES.get(value);
+        if (template == null) {
+            template = EnvironmentTemplate.compile(value);
+            TEMPLATES.put(value, template);
+        }
+        return template;
+    }
+
+    @VisibleForTesting
+    static int getCachedTemplatesCount() {
+        return TEMPLATES.size();
+    }
+
+    @VisibleForTesting
+    static void clearCache() {
+        TEMPLATES.clear();
+    }
+
+    /**
+     * Resolves the variables of a given environment. The resolved values of the variables are memoized, so each
+     * variable is resolved only once.
+     */
+    static class Resolution {
+        private final EnvVars environment;
+        private final int maximumDepth;
+        private final Map<String, String> resolved = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final Set<String> visiting = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        private final Map<String, EnvironmentTemplate> variableTemplates = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        @CheckForNull
+        private final VariableGraph graph;
+        private int incompleteCount; // number of resolutions that have been cut off by a cycle or the depth limit
+
+        Resolution(final EnvVars environment, final int maximumDepth, @CheckForNull final VariableGraph graph) {
+            this.environment = environment;
+            this.maximumDepth = maximumDepth;
+            this.graph = graph;
+        }
+
+        String expandValue(final String value) {
+            if (maximumDepth <= 0 || environment.isEmpty() || StringUtils.isBlank(value)) {
+                return value;
+            }
+            return expand(compile(value), 1);
+        }
+
+        private String expand(final EnvironmentTemplate template, final int depth) {
+            if (template.isConstant()) {
+                return template.resolve(name -> null);
+            }
+            return template.resolve(name -> resolve(name, depth));
+        }
+
+        @CheckForNull
+        private String resolve(final String name, final int depth) {
+            var cached = resolved.get(name);
+            if (cached != null) {
+                return cached;
+            }
+
+            var value = environment.get(name);
+            if (value == null || graph != null && graph.isCyclic(name)) {
+                return null;
+            }
+            if (visiting.contains(name)) {
+                incompleteCount++;
+                return null;
+            }
+            if (depth >= maximumDepth) {
+                incompleteCount++;
+                return value;
+            }
+
+            visiting.add(name);
+            try {
+                var incompleteBefore = incompleteCount;
+                var expanded = expand(getVariableTemplate(name, value), depth + 1);
+                // values that depend on cycles or on the depth limit are not memoized
+                if (incompleteCount == incompleteBefore) {
+                    resolved.put(name, expanded);
+                }
+                return expanded;
+            }
+            finally {
+                visiting.remove(name);
+            }
+        }
+
+        @VisibleForTesting
+        Set<String> getMemoizedVariables() {
+            return resolved.keySet();
+        }
+
+        private EnvironmentTemplate getVariableTemplate(final String name, final String value) {
+            return variableTemplates.computeIfAbsent(name, key -> EnvironmentTemplate.compile(value));
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package io.jenkins.plugins.util;
+
+import edu.hm.hafner.util.FilteredLog;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import hudson.remoting.ClassFilter;
+
+/**
+ * A serializable payload that is compressed if its serialized form exceeds a given threshold. Small payloads are
+ * transferred in their uncompressed serialized form. This wrapper can be used to reduce the number of bytes that are
+ * transferred through a remoting channel, e.g., if large results are returned from an agent that is connected through
+ * a slow network.
+ *
+ * <p>
+ * On the receiving side, the payload is deserialized using the class loader of the type of the value (or of the type
+ * that has been specified when the payload has been created) and the default class filter of the remoting layer. If
+ * this type has been loaded by the bootstrap class loader (e.g., a {@link java.util.List}), then the class loader of
+ * Jenkins is used, that can see the classes of all plugins. A payload is deserialized only once, subsequent calls of
+ * {@link #get()} return the same instance. Equal strings of compressed and uncompressed payloads are deduplicated
+ * during the deserialization, so that the value contains only one instance of each distinct string. Since the value is
+ * serialized independently of the remoting channel, it must not contain objects that are bound to a channel, e.g.,
+ * a {@link hudson.FilePath}. Therefore, callers need to opt in to use this wrapper.
+ * </p>
+ *
+ * @param <T>
+ *         the type of the payload
+ *
+ * @author Ullrich Hafner
+ */
+public final class CompressedPayload<T extends Serializable> implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -4318417196838452447L;
+
+    /** The default size (in bytes) of the serialized form of a payload that will be compressed. */
+    public static final int DEFAULT_THRESHOLD = 64 * 1024;
+
+    @CheckForNull
+    private final byte[] compressed;
+    private final long size;
+    private final Class<?> type;
+
+    /** The value to transfer or the value that has been deserialized on the receiving side. */
+    @CheckForNull
+    private transient T value;
+    /** The serialized form of an uncompressed value that will be sent or that has not been deserialized yet. */
+    @CheckForNull
+    private transient byte[] serialized;
+    /** The deduplication statistics of the received value that have not been reported yet. */
+    @CheckForNull
+    private transient String statistics;
+
+    /**
+     * Creates a new payload for the specified value. If the serialized form of the value is larger than the specified
+     * threshold, then the value will be compressed.
+     *
+     * @param value
+     *         the value to wrap
+     * @param threshold
+     *         the minimum size (in bytes) of the serialized form of the value that will be compressed
+     * @param <T>
+     *         the type of the value
+     *
+     * @return the payload
+     */
+    public static <T extends Serializable> CompressedPayload<T> of(final T value, final int threshold) {
+        return of(value, threshold, value.getClass());
+    }
+
+    /**
+     * Creates a new payload for the specified value. If the serialized form of the value is larger than the specified
+     * threshold, then the value will be compressed. The compressed value will be deserialized using the class loader of
+     * the specified type. This type should be used if the type of the value is a generic container (e.g., a
+     * {@link java.util.List}) whose elements are loaded by a plugin.
+     *
+     * @param value
+     *         the value to wrap
+     * @param threshold
+     *         the minimum size (in bytes) of the serialized form of the value that will be compressed
+     * @param type
+     *         the type whose class loader can resolve all classes of the value
+     * @param <T>
+     *         the type of the value
+     *
+     * @return the payload
+     */
+    public static <T extends Serializable> CompressedPayload<T> of(final T value, final int threshold,
+            final Class<?> type) {
+        try {
+            var serialized = serialize(value);
+            if (serialized.length < threshold) {
+                return new CompressedPayload<>(value, null, serialized, serialized.length, type);
+            }
+            return new CompressedPayload<>(null, compress(serialized), null, serialized.length, type);
+        }
+        catch (IOException exception) {
+            // the actual serialization will report the problem
+            return new CompressedPayload<>(value, null, null, 0, type);
+        }
+    }
+
+    private static byte[] serialize(final Serializable value) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new ObjectOutputStream(bytes)) {
+            output.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] compress(final byte[] serialized) throws IOException {
+        var bytes = new ByteArrayOutputStream(serialized.length / 4);
+        try (var output = new GZIPOutputStream(bytes)) {
+            output.write(serialized);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Arrays are created by the factory method")
+    private CompressedPayload(@CheckForNull final T value, @CheckForNull final byte[] compressed,
+            @CheckForNull final byte[] serialized, final long size, final Class<?> type) {
+        this.value = value;
+        this.compressed = compressed;
+        this.serialized = serialized;
+        this.size = size;
+        this.type = type;
+    }
+
+    /**
+     * Returns whether the payload has been compressed.
+     *
+     * @return {@code true} if the payload has been compressed, {@code false} if the value is stored as is
+     */
+    public boolean isCompressed() {
+        return compressed != null;
+    }
+
+    /**
+     * Returns the size of the serialized form of the value.
+     *
+     * @return the size in bytes, or 0 if the value cannot be serialized
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the size of the payload that will be transferred: either the size of the compressed value or the size
+     * of the serialized form of the value.
+     *
+     * @return the size in bytes
+     */
+    public long getTransferSize() {
+        return compressed == null ? size : compressed.length;
+    }
+
+    /**
+     * Returns the wrapped value. If the payload has been received, then the value will be decompressed (if required)
+     * and deserialized on the first call. The deduplication statistics are not reported, they are kept until the
+     * value is requested with {@link #get(FilteredLog)}.
+     *
+     * @return the value
+     * @throws IllegalStateException
+     *         if the value cannot be deserialized
+     */
+    public synchronized T get() {
+        if (value == null) {
+            value = deserialize();
+            serialized = null;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the wrapped value. If the payload has been received, then the value will be decompressed (if required)
+     * and deserialized on the first call. The number of deduplicated strings and the estimated memory that has been
+     * saved will be reported once, in the log of the first call of this method.
+     *
+     * @param log
+     *         the logger to report the deduplication statistics to
+     *
+     * @return the value
+     * @throws IllegalStateException
+     *         if the value cannot be deserialized
+     */
+    public synchronized T get(final FilteredLog log) {
+        var restored = get();
+        if (statistics != null) {
+            log.logInfo("%s", statistics);
+            statistics = null;
+        }
+        return restored;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T deserialize() {
+        try (var input = new DeduplicatingObjectInputStream(createInputStream(), getClassLoader(),
+                ClassFilter.DEFAULT)) {
+            var restored = (T) input.readObject();
+            if (input.getDeduplicatedCount() > 0) {
+                statistics = "-> deduplicated %d strings (%d distinct), saved about %s".formatted(
+                        input.getDeduplicatedCount(), input.getDistinctCount(),
+                        PayloadMeter.formatSize(input.getSavedBytes()));
+            }
+            return restored;
+        }
+        catch (IOException | ClassNotFoundException exception) {
+            throw new IllegalStateException("Can't deserialize payload", exception);
+        }
+    }
+
+    private InputStream createInputStream() throws IOException {
+        if (compressed != null) {
+            return new GZIPInputStream(new ByteArrayInputStream(compressed));
+        }
+        if (serialized != null) {
+            return new ByteArrayInputStream(serialized);
+        }
+        throw new IllegalStateException("Payload contains no value");
+    }
+
+    private ClassLoader getClassLoader() {
+        if (type.getClassLoader() != null) {
+            return type.getClassLoader();
+        }
+        return new JenkinsFacade().getClassLoader();
+    }
+
+    @Serial
+    private synchronized void writeObject(final ObjectOutputStream output) throws IOException {
+        output.defaultWriteObject();
+
+        if (compressed == null) {
+            output.writeObject(serialized == null ? serialize(value) : serialized);
+        }
+    }
+
+    @Serial
+    private void readObject(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+
+        if (compressed == null) {
+            serialized = (byte[]) input.readObject();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.jenkins.plugins.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.jenkins.plugins.util.QualityGateResult.QualityGateResultItem;
+
+/**
+ * Thread-safe aggregation of quality gate results. An instance of this class can be shared between parallel branches
+ * that evaluate quality gates concurrently. Items are appended without locking and the overall status is updated
+ * atomically. When all evaluations have been finished, the aggregated items can be converted into a
+ * {@link QualityGateResult} using {@link #toQualityGateResult()}.
+ *
+ * @author Ullrich Hafner
+ */
+public class ConcurrentQualityGateResult {
+    private final AtomicReference<QualityGateStatus> overallStatus = new AtomicReference<>(QualityGateStatus.INACTIVE);
+    private final ConcurrentLinkedQueue<QualityGateResultItem> items = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Adds another quality gate result to the aggregated result.
+     *
+     * @param qualityGate
+     *         the quality gate that has been evaluated
+     * @param actualStatus
+     *         the status of the quality gate
+     * @param actualValue
+     *         the value that has been evaluated against the quality gate threshold
+     */
+    public void add(final QualityGate qualityGate, final QualityGateStatus actualStatus, final String actualValue) {
+        add(new QualityGateResultItem(actualStatus, qualityGate, actualValue));
+    }
+
+    /**
+     * Adds all items of the specified result to the aggregated result.
+     *
+     * @param result
+     *         the result of a quality gate evaluation
+     */
+    public void addAll(final QualityGateResult result) {
+        result.getResultItems().forEach(this::add);
+    }
+
+    private void add(final QualityGateResultItem item) {
+        items.add(item);
+
+        overallStatus.accumulateAndGet(item.getStatus(),
+                (current, actual) -> actual.isWorseThan(current) ? actual : current);
+    }
+
+    public QualityGateStatus getOverallStatus() {
+        return overallStatus.get();
+    }
+
+    public boolean isSuccessful() {
+        return getOverallStatus().isSuccessful();
+    }
+
+    /**
+     * Returns a snapshot of all items that have been added so far.
+     *
+     * @return the items, in the order they have been added
+     */
+    public List<QualityGateResultItem> getResultItems() {
+        return new ArrayList<>(items);
+    }
+
+    /**
+     * Merges all items that have been added so far into a new {@link QualityGateResult}.
+     *
+     * @return the merged result
+     */
+    public QualityGateResult toQualityGateResult() {
+        var result = new QualityGateResult();
+        for (QualityGateResultItem item : items) {
+            result.add(item.getQualityGate(), item.getStatus(), item.getActualValue());
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return getOverallStatus().toString();
+    }
+}
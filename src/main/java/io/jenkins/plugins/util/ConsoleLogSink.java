@@ -0,0 +1,63 @@
+package io.jenkins.plugins.util;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import hudson.model.TaskListener;
+
+/**
+ * A {@link LogSink} that prints all messages immediately to the console log of a {@link TaskListener}. Since the
+ * {@link TaskListener} can be transferred to an agent, this sink can be used in {@link AgentFileVisitor} instances
+ * to stream the messages from the agent to the console log of the build.
+ *
+ * @author Ullrich Hafner
+ */
+public class ConsoleLogSink implements LogSink, Serializable {
+    @Serial
+    private static final long serialVersionUID = 6120543796402816428L;
+
+    private final TaskListener listener;
+    private final String name;
+
+    @CheckForNull
+    private transient LogHandler logHandler;
+
+    /**
+     * Creates a new {@link ConsoleLogSink}.
+     *
+     * @param listener
+     *         the task listener that will print all log messages
+     * @param name
+     *         the name of the logger
+     */
+    public ConsoleLogSink(final TaskListener listener, final String name) {
+        this.listener = listener;
+        this.name = name;
+    }
+
+    @Override
+    public void logInfo(final String message) {
+        getLogHandler().logInfo(message);
+    }
+
+    @Override
+    public void logError(final String message) {
+        getLogHandler().logError(message);
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (logHandler != null) {
+            logHandler.flush();
+        }
+    }
+
+    private synchronized LogHandler getLogHandler() {
+        if (logHandler == null) {
+            logHandler = new LogHandler(listener, name);
+        }
+        return logHandler;
+    }
+}
@@ -0,0 +1,75 @@
+package io.jenkins.plugins.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import hudson.remoting.ClassFilter;
+import hudson.remoting.ObjectInputStreamEx;
+
+/**
+ * An {@link ObjectInputStreamEx} that replaces equal strings with a single instance. Java serialization shares only
+ * identical instances, so results that have been created by a parser typically contain many copies of the same file
+ * names, module names, or messages. The pool of strings is scoped to this stream, i.e. to a single transfer, so it will
+ * be garbage collected together with the stream.
+ *
+ * @author Ullrich Hafner
+ */
+class DeduplicatingObjectInputStream extends ObjectInputStreamEx {
+    /** Estimated size of the object headers of a string and its internal byte array. */
+    private static final int STRING_OVERHEAD = 40;
+
+    private final Map<String, String> pool = new HashMap<>();
+    private int deduplicatedCount;
+    private long savedBytes;
+
+    DeduplicatingObjectInputStream(final InputStream input, final ClassLoader classLoader, final ClassFilter filter)
+            throws IOException {
+        super(input, classLoader, filter);
+
+        enableResolveObject(true);
+    }
+
+    @Override
+    protected Object resolveObject(final Object obj) throws IOException {
+        if (obj instanceof String) {
+            var value = (String) obj;
+            var existing = pool.putIfAbsent(value, value);
+            if (existing != null && existing != value) {
+                deduplicatedCount++;
+                savedBytes += STRING_OVERHEAD + value.length();
+                return existing;
+            }
+        }
+        return super.resolveObject(obj);
+    }
+
+    /**
+     * Returns the number of strings that have been replaced by an equal instance.
+     *
+     * @return the number of deduplicated strings
+     */
+    int getDeduplicatedCount() {
+        return deduplicatedCount;
+    }
+
+    /**
+     * Returns the estimated number of bytes on the heap that have been saved by the deduplication. The estimation
+     * assumes compact strings with Latin-1 characters.
+     *
+     * @return the saved bytes
+     */
+    long getSavedBytes() {
+        return savedBytes;
+    }
+
+    /**
+     * Returns the number of distinct strings that have been read.
+     *
+     * @return the number of distinct strings
+     */
+    int getDistinctCount() {
+        return pool.size();
+    }
+}
@@ -0,0 +1,95 @@
+package io.jenkins.plugins.util;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The result of expanding a value with the {@link CompiledEnvironmentResolver} in diagnostics mode. Contains the
+ * expanded value along with the detected cycles and the variables that could not be resolved.
+ *
+ * @author Ullrich Hafner
+ */
+public class EnvironmentResolution {
+    private final String value;
+    private final List<List<String>> cycles;
+    private final Set<String> unresolvedVariables;
+
+    EnvironmentResolution(final String value, final List<List<String>> cycles, final Set<String> unresolvedVariables) {
+        this.value = value;
+        this.cycles = List.copyOf(cycles);
+        this.unresolvedVariables = Set.copyOf(unresolvedVariables);
+    }
+
+    /**
+     * Returns the expanded value. Variables that are part of a cycle or that are not defined are not expanded.
+     *
+     * @return the expanded value
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the detected cycles. Each cycle is represented by the names of the variables on the cycle, where the
+     * first variable is repeated at the end, e.g. {@code [A, B, A]}. Each group of variables that reference each other
+     * is reported by at least one cycle. If a group contains several cycles, e.g. {@code A=$B$C}, {@code B=$A}, and
+     * {@code C=$B}, then not all of these cycles are reported. However, all variables of the group are not expanded.
+     *
+     * @return the detected cycles
+     */
+    public List<List<String>> getCycles() {
+        return cycles;
+    }
+
+    /**
+     * Returns whether cyclic references between variables have been detected.
+     *
+     * @return {@code true} if there is at least one cycle, {@code false} otherwise
+     */
+    public boolean hasCycles() {
+        return !cycles.isEmpty();
+    }
+
+    /**
+     * Returns the names of the referenced variables that are not defined in the environment.
+     *
+     * @return the unresolved variables
+     */
+    public Set<String> getUnresolvedVariables() {
+        return unresolvedVariables;
+    }
+
+    /**
+     * Returns whether all referenced variables have been resolved.
+     *
+     * @return {@code true} if there are neither cycles nor unresolved variables, {@code false} otherwise
+     */
+    public boolean isResolved() {
+        return cycles.isEmpty() && unresolvedVariables.isEmpty();
+    }
+
+    /**
+     * Reports the detected cycles as errors and the unresolved variables as info messages in the specified log.
+     *
+     * @param log
+     *         the log to report the problems to
+     */
+    public void report(final FilteredLog log) {
+        for (List<String> cycle : cycles) {
+            log.logError("Skipping expansion of environment variables with cyclic references: %s",
+                    String.join(" -> ", cycle));
+        }
+        if (!unresolvedVariables.isEmpty()) {
+            log.logInfo("Environment variables not defined: %s",
+                    unresolvedVariables.stream().sorted().collect(Collectors.joining(", ")));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
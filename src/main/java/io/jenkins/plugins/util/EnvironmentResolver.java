@@ -5,6 +5,12 @@ import org.apache.commons.lang3.StringUtils;
 import edu.hm.hafner.util.VisibleForTesting;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import hudson.EnvVars;
 import hudson.Util;
 
@@ -15,7 +21,7 @@ import hudson.Util;
  */
 public class EnvironmentResolver {
     /** Maximum number of times that the environment expansion is executed. */
-    private static final int RESOLVE_VARIABLE_DEPTH_DEFAULT = 10;
+    static final int RESOLVE_VARIABLE_DEPTH_DEFAULT = 10;
 
     private final int resolveVariablesDepth;
 
@@ -32,6 +38,10 @@ public class EnvironmentResolver {
         this.resolveVariablesDepth = resolveVariablesDepth;
     }
 
+    int getResolveVariablesDepth() {
+        return resolveVariablesDepth;
+    }
+
     /**
      * Resolves build parameters in the specified string value to {@link #resolveVariablesDepth} times.
      *
@@ -56,6 +66,45 @@ public class EnvironmentResolver {
         return expanded;
     }
 
+    /**
+     * Resolves build parameters in all specified string values. The order of the values is retained.
+     *
+     * @param environment
+     *         environment variables
+     * @param nonExpandedValues
+     *         the values to expand
+     *
+     * @return the expanded values
+     */
+    public List<String> expandEnvironmentVariables(@CheckForNull final EnvVars environment,
+            final Collection<String> nonExpandedValues) {
+        List<String> expanded = new ArrayList<>(nonExpandedValues.size());
+        for (String value : nonExpandedValues) {
+            expanded.add(expandEnvironmentVariables(environment, value));
+        }
+        return expanded;
+    }
+
+    /**
+     * Resolves build parameters in all values of the specified map, e.g. the configured fields of a step. The keys and
+     * their order are retained.
+     *
+     * @param environment
+     *         environment variables
+     * @param nonExpandedValues
+     *         the values to expand, mapped by a key (e.g., the name of the field)
+     *
+     * @return the expanded values, mapped by the same keys
+     */
+    public Map<String, String> expandEnvironmentVariables(@CheckForNull final EnvVars environment,
+            final Map<String, String> nonExpandedValues) {
+        Map<String, String> expanded = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : nonExpandedValues.entrySet()) {
+            expanded.put(entry.getKey(), expandEnvironmentVariables(environment, entry.getValue()));
+        }
+        return expanded;
+    }
+
     private String expand(final EnvVars environment, final String expanded) {
         return StringUtils.defaultString(Util.replaceMacro(expanded, environment));
     }
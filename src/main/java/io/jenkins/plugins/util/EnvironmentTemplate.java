@@ -0,0 +1,189 @@
+package io.jenkins.plugins.util;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A compiled value that might contain references to environment variables. The value is parsed once into a sequence of
+ * literal and variable segments. Variables are referenced using the syntax {@code $NAME} or {@code ${NAME}}, a
+ * {@code $$} represents a literal dollar sign. This syntax is the same as the syntax of
+ * {@link hudson.Util#replaceMacro(String, java.util.Map)}.
+ *
+ * @author Ullrich Hafner
+ */
+final class EnvironmentTemplate {
+    private final List<Segment> segments;
+    private final List<String> variables;
+
+    private EnvironmentTemplate(final List<Segment> segments) {
+        this.segments = segments;
+
+        List<String> names = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (segment.isVariable()) {
+                names.add(segment.getName());
+            }
+        }
+        variables = Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Parses the specified value into a template.
+     *
+     * @param value
+     *         the value to parse
+     *
+     * @return the template
+     */
+    @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
+    static EnvironmentTemplate compile(final String value) {
+        List<Segment> segments = new ArrayList<>();
+        var literal = new StringBuilder();
+        int length = value.length();
+        int position = 0;
+        while (position < length) {
+            char current = value.charAt(position);
+            if (current != '$' || position + 1 == length) {
+                literal.append(current);
+                position++;
+                continue;
+            }
+
+            char next = value.charAt(position + 1);
+            int end;
+            if (next == '$') {
+                literal.append('$');
+                position += 2;
+                continue;
+            }
+            else if (next == '{') {
+                end = scanName(value, position + 2, true);
+                if (end == position + 2 || end == length || value.charAt(end) != '}') {
+                    literal.append(current);
+                    position++;
+                    continue;
+                }
+                addVariable(segments, literal, value.substring(position + 2, end), value.substring(position, end + 1));
+                position = end + 1;
+            }
+            else {
+                end = scanName(value, position + 1, false);
+                if (end == position + 1) {
+                    literal.append(current);
+                    position++;
+                    continue;
+                }
+                addVariable(segments, literal, value.substring(position + 1, end), value.substring(position, end));
+                position = end;
+            }
+        }
+        if (literal.length() > 0) {
+            segments.add(Segment.literal(literal.toString()));
+        }
+        return new EnvironmentTemplate(segments);
+    }
+
+    private static int scanName(final String value, final int start, final boolean isDotAllowed) {
+        int position = start;
+        while (position < value.length() && isNameCharacter(value.charAt(position), isDotAllowed)) {
+            position++;
+        }
+        return position;
+    }
+
+    private static boolean isNameCharacter(final char character, final boolean isDotAllowed) {
+        return character >= 'A' && character <= 'Z'
+                || character >= 'a' && character <= 'z'
+                || character >= '0' && character <= '9'
+                || character == '_'
+                || isDotAllowed && character == '.';
+    }
+
+    private static void addVariable(final List<Segment> segments, final StringBuilder literal,
+            final String name, final String token) {
+        if (literal.length() > 0) {
+            segments.add(Segment.literal(literal.toString()));
+            literal.setLength(0);
+        }
+        segments.add(Segment.variable(name, token));
+    }
+
+    /**
+     * Returns the names of all variables that are referenced in this template.
+     *
+     * @return the names of the referenced variables (in the order of their occurrence)
+     */
+    List<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Returns whether this template does not reference any variables.
+     *
+     * @return {@code true} if this template contains only literal text, {@code false} otherwise
+     */
+    boolean isConstant() {
+        return variables.isEmpty();
+    }
+
+    /**
+     * Resolves all variables of this template using the specified lookup function. If a variable cannot be resolved
+     * (i.e., the lookup returns {@code null}), then the variable reference is retained as is.
+     *
+     * @param lookup
+     *         the function to resolve the value of a variable
+     *
+     * @return the resolved value
+     */
+    String resolve(final Function<String, String> lookup) {
+        var resolved = new StringBuilder();
+        for (Segment segment : segments) {
+            if (segment.isVariable()) {
+                var value = lookup.apply(segment.getName());
+                resolved.append(value == null ? segment.getText() : value);
+            }
+            else {
+                resolved.append(segment.getText());
+            }
+        }
+        return resolved.toString();
+    }
+
+    /**
+     * A segment of a template: either literal text or a reference to a variable.
+     */
+    private static final class Segment {
+        @CheckForNull
+        private final String name;
+        private final String text;
+
+        static Segment literal(final String text) {
+            return new Segment(null, text);
+        }
+
+        static Segment variable(final String name, final String token) {
+            return new Segment(name, token);
+        }
+
+        private Segment(@CheckForNull final String name, final String text) {
+            this.name = name;
+            this.text = text;
+        }
+
+        boolean isVariable() {
+            return name != null;
+        }
+
+        String getName() {
+            return name == null ? "" : name;
+        }
+
+        String getText() {
+            return text;
+        }
+    }
+}
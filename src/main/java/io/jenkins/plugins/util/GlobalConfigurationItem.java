@@ -5,19 +5,55 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import net.sf.json.JSONObject;
 
+import java.io.IOException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
 import org.kohsuke.stapler.StaplerRequest2;
+import hudson.BulkChange;
+import hudson.init.Terminator;
 import jenkins.model.GlobalConfiguration;
+import jenkins.util.Timer;
 
 /**
  * Testable base class for items of the {@link GlobalConfiguration} page.
  *
+ * <p>
+ * Loading, saving, and submitting the configuration form are synchronized on this instance, so subclasses can guard
+ * their setters with {@code synchronized} as well. Additionally, loading the configuration or submitting the form
+ * acquires the write lock of {@link #getLock()}, while saving the configuration acquires the read lock. Subclasses
+ * that read their properties while holding the read lock obtain a consistent view: such readers are not blocked by a
+ * running save, but they are blocked while the configuration is loaded or the form is submitted. To avoid deadlocks,
+ * the monitor of this instance is always acquired before the lock returned by {@link #getLock()}. Therefore,
+ * {@link #save()} must not be called while holding that lock only: a setter that uses the write lock needs to release
+ * it before saving.
+ * </p>
+ *
+ * <p>
+ * Setters that are invoked while the configuration form is submitted do not write the configuration file: all
+ * changes of the form are written with a single save. Setters that are invoked frequently can use
+ * {@link #saveLater()} to coalesce several changes into one save. Changes that are still pending when Jenkins is shut
+ * down are saved during the termination of Jenkins.
+ * </p>
+ *
  * @author Ullrich Hafner
  */
 @SuppressFBWarnings("IS2_INCONSISTENT_SYNC")
 public class GlobalConfigurationItem extends GlobalConfiguration {
+    /** The delay in milliseconds of a save that has been requested by {@link #saveLater()}. */
+    static final long SAVE_DELAY = 500;
+
     private transient Runnable actualSave;
     private transient Runnable actualLoad;
 
+    private transient ReentrantReadWriteLock lock;
+    private transient AtomicBoolean dirty;
+    private transient AtomicReference<ScheduledFuture<?>> pendingSave;
+
     /**
      * Creates a new {@link GlobalConfigurationItem}.
      */
@@ -26,6 +62,7 @@ public class GlobalConfigurationItem extends GlobalConfiguration {
 
         actualLoad = super::load;
         actualSave = super::save;
+        initializeLocks();
     }
 
     /**
@@ -40,6 +77,13 @@ public class GlobalConfigurationItem extends GlobalConfiguration {
 
         actualLoad = facade::load;
         actualSave = facade::save;
+        initializeLocks();
+    }
+
+    private void initializeLocks() {
+        lock = new ReentrantReadWriteLock();
+        dirty = new AtomicBoolean();
+        pendingSave = new AtomicReference<>();
     }
 
     /**
@@ -50,15 +94,28 @@ public class GlobalConfigurationItem extends GlobalConfiguration {
     protected Object readResolve() {
         actualLoad = super::load;
         actualSave = super::save;
+        initializeLocks();
 
         return this;
     }
 
     @Override
-    public boolean configure(final StaplerRequest2 req, final JSONObject json) throws FormException {
-        clearRepeatableProperties();
+    @SuppressWarnings("PMD.AvoidSynchronizedAtMethodLevel")
+    public synchronized boolean configure(final StaplerRequest2 req, final JSONObject json) throws FormException {
+        lock.writeLock().lock(); // the commit saves the configuration, so the monitor must be acquired first
+        try (var bulkChange = new BulkChange(this)) {
+            clearRepeatableProperties();
 
-        return super.configure(req, json);
+            var isConfigured = super.configure(req, json);
+            bulkChange.commit();
+            return isConfigured;
+        }
+        catch (IOException exception) {
+            throw new FormException(exception, "");
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -70,15 +127,120 @@ public class GlobalConfigurationItem extends GlobalConfiguration {
         // empty default implementation
     }
 
+    /**
+     * Returns the lock that guards the state of this configuration. Subclasses can use the read lock to obtain a
+     * consistent view of several properties.
+     *
+     * @return the lock
+     */
+    protected final ReadWriteLock getLock() {
+        return lock;
+    }
+
     @Override
     @SuppressWarnings("PMD.AvoidSynchronizedAtMethodLevel")
     public final synchronized void load() {
-        actualLoad.run();
+        lock.writeLock().lock();
+        try {
+            actualLoad.run();
+            dirty.set(false);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
     }
 
+    /**
+     * Saves this configuration. If the configuration form is currently submitted, then the configuration is marked as
+     * changed only and will be saved when all properties of the form have been bound.
+     *
+     * @throws IllegalStateException
+     *         if the current thread holds the lock returned by {@link #getLock()} without holding the monitor of this
+     *         instance, since acquiring the locks in this order might deadlock
+     */
     @Override
-    @SuppressWarnings("PMD.AvoidSynchronizedAtMethodLevel")
-    public final synchronized void save() {
-        actualSave.run();
+    public final void save() {
+        if (BulkChange.contains(this)) {
+            dirty.set(true);
+            return;
+        }
+
+        if (isLockedByCurrentThread() && !Thread.holdsLock(this)) {
+            throw new IllegalStateException(
+                    "The lock of the configuration must be released before saving " + getClass().getName());
+        }
+
+        cancelPendingSave();
+        synchronized (this) {
+            dirty.set(false);
+            lock.readLock().lock();
+            try {
+                actualSave.run();
+            }
+            finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    private boolean isLockedByCurrentThread() {
+        return lock.getReadHoldCount() > 0 || lock.isWriteLockedByCurrentThread();
+    }
+
+    /**
+     * Marks this configuration as changed and schedules a save. If another change is made before the save has been
+     * executed, then the save will be postponed, so subsequent changes are written with a single save.
+     */
+    public void saveLater() {
+        dirty.set(true);
+
+        var previous = pendingSave.getAndSet(
+                Timer.get().schedule(this::saveIfDirty, SAVE_DELAY, TimeUnit.MILLISECONDS));
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    /**
+     * Saves this configuration if there are changes that have not been saved yet.
+     */
+    public void saveIfDirty() {
+        if (dirty.get()) {
+            save();
+        }
+    }
+
+    /**
+     * Returns whether this configuration has been changed since the last save.
+     *
+     * @return {@code true} if there are changes that have not been saved yet, {@code false} otherwise
+     */
+    public boolean isDirty() {
+        return dirty.get();
+    }
+
+    /**
+     * Saves all global configurations that have pending changes when Jenkins is shut down. Otherwise, changes that have
+     * been scheduled by {@link #saveLater()} but have not been saved yet would be lost.
+     */
+    @Terminator
+    public static void savePendingChanges() {
+        savePendingChanges(GlobalConfiguration.all());
+    }
+
+    @VisibleForTesting
+    static void savePendingChanges(final Iterable<? extends GlobalConfiguration> configurations) {
+        for (GlobalConfiguration configuration : configurations) {
+            if (configuration instanceof GlobalConfigurationItem item) {
+                item.saveIfDirty();
+            }
+        }
+    }
+
+    private void cancelPendingSave() {
+        var pending = pendingSave.getAndSet(null);
+        if (pending != null) {
+            pending.cancel(false);
+        }
     }
 }
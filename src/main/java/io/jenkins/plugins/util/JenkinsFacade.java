@@ -9,16 +9,31 @@ import edu.umd.cs.findbugs.annotations.CheckForNull;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.kohsuke.stapler.Stapler;
 import org.kohsuke.stapler.StaplerRequest2;
 import hudson.DescriptorExtensionList;
 import hudson.ExtensionPoint;
 import hudson.model.AbstractItem;
+import hudson.model.AutoCompletionCandidates;
+import hudson.model.Computer;
 import hudson.model.Describable;
 import hudson.model.Descriptor;
 import hudson.model.Item;
@@ -40,6 +55,17 @@ public class JenkinsFacade implements Serializable {
     @Serial
     private static final long serialVersionUID = 1904631270145841113L;
 
+    private static final Logger LOGGER = Logger.getLogger(JenkinsFacade.class.getName());
+
+    private static final PermissionCache PERMISSION_CACHE = new PermissionCache();
+    /**
+     * The ID of the visibility check of a job in the permission cache. The ID must not collide with the ID of an actual
+     * permission, since the visibility check resolves the job rather than evaluating the ACL of the job.
+     */
+    private static final String VISIBILITY_CHECK = "visible";
+    /** Minimum number of jobs for which the builds are loaded in parallel. */
+    private static final int PARALLEL_LOAD_THRESHOLD = 2;
+
     /**
      * Returns the discovered instances for the given extension type.
      *
@@ -115,7 +141,8 @@ public class JenkinsFacade implements Serializable {
      * @return {@code false} if the user doesn't have the permission
      */
     public boolean hasPermission(final Permission permission) {
-        return getJenkins().getACL().hasPermission(permission);
+        return hasCachedPermission(permission.getId(), StringUtils.EMPTY,
+                () -> getJenkins().getACL().hasPermission(permission));
     }
 
     /**
@@ -132,7 +159,8 @@ public class JenkinsFacade implements Serializable {
         if (project == null) {
             return hasPermission(permission);
         }
-        return getAuthorizationStrategy().getACL(project).hasPermission(permission);
+        return hasCachedPermission(permission.getId(), project.getFullName(),
+                () -> getAuthorizationStrategy().getACL(project).hasPermission(permission));
     }
 
     /**
@@ -183,7 +211,45 @@ public class JenkinsFacade implements Serializable {
         if (item == null) {
             return hasPermission(permission);
         }
-        return getAuthorizationStrategy().getACL(item).hasPermission(permission);
+        return hasCachedPermission(permission.getId(), item.getFullName(),
+                () -> getAuthorizationStrategy().getACL(item).hasPermission(permission));
+    }
+
+    /**
+     * Evaluates the permission check using the cache of permission checks. Cached results remain valid for a short time
+     * only and are discarded as soon as the authorization strategy or the security realm is replaced. The results are
+     * cached per check ID: checks that are not equivalent to the check of a permission need to use their own ID.
+     */
+    private boolean hasCachedPermission(final String checkId, final String itemName, final BooleanSupplier check) {
+        var jenkins = getJenkins();
+        return PERMISSION_CACHE.hasPermission(jenkins.getAuthorizationStrategy(), jenkins.getSecurityRealm(),
+                PermissionCache.createPrincipalKey(Jenkins.getAuthentication2()), checkId, itemName, check);
+    }
+
+    /**
+     * Returns the number of permission checks that have been answered from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getPermissionCacheHitCount() {
+        return PERMISSION_CACHE.getHitCount();
+    }
+
+    /**
+     * Returns the number of permission checks that have been evaluated by the authorization strategy.
+     *
+     * @return the number of cache misses
+     */
+    public long getPermissionCacheMissCount() {
+        return PERMISSION_CACHE.getMissCount();
+    }
+
+    /**
+     * Discards all cached permission checks, e.g., after the permissions of a user have been changed without replacing
+     * the authorization strategy.
+     */
+    public void invalidatePermissionCache() {
+        PERMISSION_CACHE.invalidate();
     }
 
     private AuthorizationStrategy getAuthorizationStrategy() {
@@ -227,6 +293,85 @@ public class JenkinsFacade implements Serializable {
         }
     }
 
+    /**
+     * Gets several {@link Run builds} by their full IDs. The IDs are grouped by job, so that each job is resolved only
+     * once (using the permissions of the current user). If the builds belong to several jobs, then the builds of the
+     * individual jobs are loaded in parallel. If the builds of a job cannot be loaded, then the builds of the other
+     * jobs are still returned.
+     *
+     * @param ids
+     *         the IDs of the builds
+     *
+     * @return the builds that exist and are accessible, mapped by their IDs (in the order of the specified IDs)
+     */
+    public Map<String, Run<?, ?>> getBuilds(final Collection<String> ids) {
+        Map<String, Map<Integer, List<String>>> idsByJob = new LinkedHashMap<>();
+        for (String id : ids) {
+            int separator = id.lastIndexOf('#');
+            if (separator > 0) {
+                try {
+                    var number = Integer.parseInt(id.substring(separator + 1));
+                    idsByJob.computeIfAbsent(id.substring(0, separator), name -> new LinkedHashMap<>())
+                            .computeIfAbsent(number, key -> new ArrayList<>())
+                            .add(id); // several IDs may refer to the same build, e.g. job#1 and job#01
+                }
+                catch (NumberFormatException ignored) {
+                    // ignore invalid IDs
+                }
+            }
+        }
+
+        Map<Job<?, ?>, Map<Integer, List<String>>> idsByResolvedJob = new LinkedHashMap<>();
+        idsByJob.forEach((name, numbers) -> getJob(name).ifPresent(job -> idsByResolvedJob.put(job, numbers)));
+
+        Map<String, Run<?, ?>> loaded = new HashMap<>();
+        if (idsByResolvedJob.size() < PARALLEL_LOAD_THRESHOLD) {
+            idsByResolvedJob.forEach((job, numbers) -> loaded.putAll(loadBuilds(job, numbers)));
+        }
+        else {
+            Map<Job<?, ?>, CompletableFuture<Map<String, Run<?, ?>>>> futures = new LinkedHashMap<>();
+            idsByResolvedJob.forEach((job, numbers) -> futures.put(job,
+                    CompletableFuture.supplyAsync(() -> loadBuilds(job, numbers), Computer.threadPoolForRemoting)));
+            futures.forEach((job, future) -> {
+                try {
+                    loaded.putAll(future.join());
+                }
+                catch (CompletionException | CancellationException exception) {
+                    LOGGER.log(Level.WARNING, exception,
+                            () -> "Skipping the builds of job '%s' since loading failed".formatted(job.getFullName()));
+                }
+            });
+        }
+
+        Map<String, Run<?, ?>> builds = new LinkedHashMap<>();
+        for (String id : ids) {
+            var build = loaded.get(id);
+            if (build != null) {
+                builds.put(id, build);
+            }
+        }
+        return builds;
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private Map<String, Run<?, ?>> loadBuilds(final Job<?, ?> job, final Map<Integer, List<String>> idsByNumber) {
+        Map<String, Run<?, ?>> builds = new HashMap<>();
+        try {
+            idsByNumber.forEach((number, idsOfBuild) -> {
+                var build = job.getBuildByNumber(number);
+                if (build != null) {
+                    idsOfBuild.forEach(id -> builds.put(id, build));
+                }
+            });
+        }
+        catch (RuntimeException exception) {
+            LOGGER.log(Level.WARNING, exception,
+                    () -> "Loading the builds of job '%s' failed, returning the builds loaded so far".formatted(
+                            job.getFullName()));
+        }
+        return builds;
+    }
+
     /**
      * Returns a symbol that can be embedded in a page. The returned String is a well formatted HTML snippet that can
      * be embedded in a page.
@@ -304,6 +449,111 @@ public class JenkinsFacade implements Serializable {
         return getJenkins().getAllItems(Job.class);
     }
 
+    /**
+     * Returns all jobs that are visible for the current user as a stream. In contrast to {@link #getAllJobs()}, the
+     * jobs are enumerated lazily, so the list of all items of the Jenkins instance will not be created.
+     *
+     * @return all jobs
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public Stream<Job<?, ?>> streamAllJobs() {
+        Iterable<Job> jobs = getJenkins().allItems(Job.class);
+        return StreamSupport.stream(jobs.spliterator(), false).map(job -> (Job<?, ?>) job);
+    }
+
+    /**
+     * Returns a page of the full names of all jobs that are visible for the current user. The names are sorted
+     * alphabetically.
+     *
+     * @param offset
+     *         the number of names to skip
+     * @param limit
+     *         the maximum number of names to return
+     *
+     * @return the full names of the jobs in the selected page
+     */
+    public List<String> getJobNames(final int offset, final int limit) {
+        return getJobNamesStartingWith(StringUtils.EMPTY, offset, limit);
+    }
+
+    /**
+     * Returns a page of the full names of all jobs that are visible for the current user and that start with the
+     * specified prefix, e.g. to provide an autocompletion of job names. The names are sorted alphabetically. If
+     * available, the names are obtained from the {@link JobNameIndex} so that the costs scale with the size of the
+     * result rather than with the number of jobs.
+     *
+     * @param prefix
+     *         the prefix of the full names
+     * @param offset
+     *         the number of matching names to skip
+     * @param limit
+     *         the maximum number of names to return
+     *
+     * @return the matching full names of the jobs
+     */
+    public List<String> getJobNamesStartingWith(final String prefix, final int offset, final int limit) {
+        var index = getJobNameIndex();
+        if (index.isPresent()) {
+            return index.get().findNames(prefix, this::isVisible, offset, limit);
+        }
+        return streamAllJobs().map(this::getFullNameOf)
+                .filter(name -> name.startsWith(prefix))
+                .sorted()
+                .skip(offset)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns whether a job with the specified full name exists and is visible for the current user. If available,
+     * the {@link JobNameIndex} is used to reject unknown names in constant time, so this method is suitable for
+     * validating form fields on each keystroke. Since the index does not know about permissions, the visibility of
+     * an indexed job is answered by the permission cache: only the first lookup of a name (within the lifetime of a
+     * cached permission check) resolves the job.
+     *
+     * @param fullName
+     *         the full name of the job
+     *
+     * @return {@code true} if the job exists and is accessible, {@code false} otherwise
+     */
+    public boolean jobExists(final String fullName) {
+        var index = getJobNameIndex();
+        if (index.isPresent()) {
+            return index.get().contains(fullName) && isVisible(fullName);
+        }
+        return getJob(fullName).isPresent();
+    }
+
+    /**
+     * Returns whether the job with the specified full name is visible for the current user. Jenkins hides items
+     * without {@link Item#READ} permission. Since resolving the job also requires the permission to read all parent
+     * folders, the result is not equivalent to a read permission check of the job and is cached with its own ID.
+     */
+    private boolean isVisible(final String fullName) {
+        return hasCachedPermission(VISIBILITY_CHECK, fullName, () -> getJob(fullName).isPresent());
+    }
+
+    /**
+     * Returns autocompletion candidates for a job name: the full names of the jobs that are visible for the current
+     * user and that start with the specified prefix.
+     *
+     * @param prefix
+     *         the prefix of the full names
+     * @param limit
+     *         the maximum number of candidates
+     *
+     * @return the autocompletion candidates
+     */
+    public AutoCompletionCandidates getJobNameCandidates(final String prefix, final int limit) {
+        var candidates = new AutoCompletionCandidates();
+        getJobNamesStartingWith(StringUtils.defaultString(prefix), 0, limit).forEach(candidates::add);
+        return candidates;
+    }
+
+    private Optional<JobNameIndex> getJobNameIndex() {
+        return getExtensionsFor(JobNameIndex.class).stream().filter(JobNameIndex::isLoaded).findFirst();
+    }
+
     /**
      * Returns the full name of the specified job.
      *
@@ -338,6 +588,24 @@ public class JenkinsFacade implements Serializable {
         return getJenkins().getLegacyInstanceId();
     }
 
+    /**
+     * Returns the class loader that can see the classes of all plugins. If Jenkins is not running (e.g., in unit tests
+     * or on an agent), then the context class loader of the current thread is returned.
+     *
+     * @return the class loader
+     */
+    public ClassLoader getClassLoader() {
+        var jenkins = Jenkins.getInstanceOrNull();
+        if (jenkins != null) {
+            return jenkins.getPluginManager().uberClassLoader;
+        }
+        var contextClassLoader = Thread.currentThread().getContextClassLoader();
+        if (contextClassLoader != null) {
+            return contextClassLoader;
+        }
+        return JenkinsFacade.class.getClassLoader();
+    }
+
     private Jenkins getJenkins() {
         return Jenkins.get();
     }
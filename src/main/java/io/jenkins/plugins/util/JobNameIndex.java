@@ -0,0 +1,174 @@
+package io.jenkins.plugins.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+
+import hudson.Extension;
+import hudson.model.Item;
+import hudson.model.Job;
+import hudson.model.listeners.ItemListener;
+import hudson.security.ACL;
+
+/**
+ * Maintains an index of the full names of all jobs. The index is created once all items have been loaded and is
+ * updated incrementally whenever a job is created, copied, renamed, moved, or deleted. Using this index, the job names
+ * can be enumerated (and filtered by a prefix) without loading the list of all items of the Jenkins instance. Besides
+ * the sorted index, a hash based index is maintained, so that the existence of a job can be checked in constant
+ * time.
+ *
+ * <p>
+ * Note that the index contains the names of all jobs, independent of the permissions of the current user.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+@Extension
+public class JobNameIndex extends ItemListener {
+    private final NavigableSet<String> names = new ConcurrentSkipListSet<>();
+    private final Set<String> lookup = ConcurrentHashMap.newKeySet();
+    private volatile boolean isLoaded;
+
+    private final JenkinsFacade jenkins;
+
+    /**
+     * Creates a new instance of {@link JobNameIndex}.
+     */
+    @SuppressWarnings("unused") // Required for Jenkins Extensions
+    public JobNameIndex() {
+        this(new JenkinsFacade());
+    }
+
+    JobNameIndex(final JenkinsFacade jenkins) {
+        super();
+
+        this.jenkins = jenkins;
+    }
+
+    @Override
+    public void onLoaded() {
+        try (var ignored = ACL.as2(ACL.SYSTEM2)) {
+            names.clear();
+            lookup.clear();
+            jenkins.streamAllJobs().map(jenkins::getFullNameOf).forEach(this::add);
+        }
+        isLoaded = true;
+    }
+
+    @Override
+    public void onCreated(final Item item) {
+        addJobsOf(item);
+    }
+
+    @Override
+    public void onCopied(final Item src, final Item item) {
+        addJobsOf(item);
+    }
+
+    @Override
+    public void onDeleted(final Item item) {
+        var fullName = item.getFullName();
+        remove(fullName);
+        var children = fullName + "/";
+        for (String name : names.tailSet(children, true)) {
+            if (!name.startsWith(children)) {
+                break;
+            }
+            remove(name);
+        }
+    }
+
+    @Override
+    public void onLocationChanged(final Item item, final String oldFullName, final String newFullName) {
+        if (item instanceof Job) { // the listener is invoked for each nested item as well
+            remove(oldFullName);
+            add(newFullName);
+        }
+    }
+
+    private void addJobsOf(final Item item) {
+        for (Job<?, ?> job : item.getAllJobs()) {
+            add(job.getFullName());
+        }
+    }
+
+    private void add(final String fullName) {
+        lookup.add(fullName);
+        names.add(fullName);
+    }
+
+    private void remove(final String fullName) {
+        names.remove(fullName);
+        lookup.remove(fullName);
+    }
+
+    /**
+     * Returns whether the index has been created already. Until all items have been loaded, the index is incomplete.
+     *
+     * @return {@code true} if the index is available, {@code false} otherwise
+     */
+    public boolean isLoaded() {
+        return isLoaded;
+    }
+
+    /**
+     * Returns whether a job with the specified full name exists. The result is independent of the permissions of the
+     * current user.
+     *
+     * @param fullName
+     *         the full name of the job
+     *
+     * @return {@code true} if the job exists, {@code false} otherwise
+     */
+    public boolean contains(final String fullName) {
+        return lookup.contains(fullName);
+    }
+
+    /**
+     * Returns the number of indexed jobs.
+     *
+     * @return the number of jobs
+     */
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Returns the full names of the jobs that start with the specified prefix. The names are returned in alphabetical
+     * order.
+     *
+     * @param prefix
+     *         the prefix of the full names
+     * @param filter
+     *         the filter that decides whether a name should be part of the result, e.g. a permission check
+     * @param offset
+     *         the number of matching names to skip
+     * @param limit
+     *         the maximum number of names to return
+     *
+     * @return the matching job names
+     */
+    public List<String> findNames(final String prefix, final Predicate<String> filter,
+            final int offset, final int limit) {
+        List<String> matches = new ArrayList<>();
+        int skipped = 0;
+        for (String name : names.tailSet(prefix, true)) {
+            if (!name.startsWith(prefix) || matches.size() >= limit) {
+                break;
+            }
+            if (filter.test(name)) {
+                if (skipped < offset) {
+                    skipped++;
+                }
+                else {
+                    matches.add(name);
+                }
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,168 @@
+package io.jenkins.plugins.util;
+
+import org.apache.commons.lang3.StringUtils;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.StaplerResponse2;
+import jakarta.servlet.http.HttpServletResponse;
+
+import hudson.model.Item;
+import hudson.security.AccessControlled;
+
+/**
+ * A compressed file that stores the complete list of log messages, e.g., in the build folder. Each call of
+ * {@link #append(Collection)} adds a new GZIP member to the file, so the messages can be written incrementally. Plugins
+ * can provide the archived messages for download by exposing the archive in an action, e.g., using a getter
+ * {@code getConsoleArchive()} in a {@link BuildAction}: then the uncompressed messages are served by Stapler using the
+ * URL {@code consoleArchive/download} of the action, see {@link #doDownload(StaplerRequest2, StaplerResponse2)}. The
+ * archive is served only to users that have the permission {@link Item#READ} for the owner of the archive, e.g., the
+ * build that created the messages.
+ *
+ * @author Ullrich Hafner
+ */
+public class LogArchive {
+    private final Path file;
+    @CheckForNull
+    private final AccessControlled owner;
+    private final JenkinsFacade jenkins;
+
+    /**
+     * Creates a new instance of {@link LogArchive} without an owner. Such an archive is served only to users that have
+     * the permission {@link Item#READ} for all items.
+     *
+     * @param file
+     *         the compressed file to write the messages to
+     */
+    public LogArchive(final Path file) {
+        this(file, null);
+    }
+
+    /**
+     * Creates a new instance of {@link LogArchive}.
+     *
+     * @param file
+     *         the compressed file to write the messages to
+     * @param owner
+     *         the owner of the archive (typically the build), the archive is served only to users that have the
+     *         permission {@link Item#READ} for this owner
+     */
+    public LogArchive(final Path file, @CheckForNull final AccessControlled owner) {
+        this(file, owner, new JenkinsFacade());
+    }
+
+    LogArchive(final Path file, @CheckForNull final AccessControlled owner, final JenkinsFacade jenkins) {
+        this.file = file;
+        this.owner = owner;
+        this.jenkins = jenkins;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    /**
+     * Appends the specified lines to the archive.
+     *
+     * @param lines
+     *         the lines to append
+     *
+     * @throws IOException
+     *         if the archive could not be written
+     */
+    public void append(final Collection<String> lines) throws IOException {
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        try (var output = new GZIPOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+                var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Opens the archive for reading. The returned stream provides the uncompressed content.
+     *
+     * @return the uncompressed content of the archive
+     * @throws IOException
+     *         if the archive could not be read
+     */
+    public InputStream open() throws IOException {
+        return new GZIPInputStream(Files.newInputStream(file));
+    }
+
+    /**
+     * Serves the uncompressed content of the archive as a plain text file. If the current user does not have the
+     * permission {@link Item#READ} for the owner of the archive, then the request is rejected.
+     *
+     * @param request
+     *         Stapler request
+     * @param response
+     *         Stapler response
+     *
+     * @throws IOException
+     *         if the archive could not be read
+     */
+    @SuppressWarnings("unused") // Called by Stapler
+    public void doDownload(final StaplerRequest2 request, final StaplerResponse2 response) throws IOException {
+        if (!jenkins.hasPermission(Item.READ, owner)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        if (!Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        response.setContentType("text/plain;charset=UTF-8");
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"%s\"".formatted(getDownloadName()));
+        try (var input = open(); var output = response.getOutputStream()) {
+            input.transferTo(output);
+        }
+    }
+
+    private String getDownloadName() {
+        var name = file.getFileName().toString();
+        return StringUtils.removeEnd(name, ".gz") + ".log";
+    }
+
+    /**
+     * Reads all lines of the archive.
+     *
+     * @return the archived lines, or an empty list if nothing has been archived yet
+     * @throws IOException
+     *         if the archive could not be read
+     */
+    public List<String> readLines() throws IOException {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+
+        try (var reader = new BufferedReader(new InputStreamReader(open(), StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        }
+    }
+}
@@ -3,17 +3,39 @@ package io.jenkins.plugins.util;
 import com.google.errorprone.annotations.FormatMethod;
 
 import edu.hm.hafner.util.FilteredLog;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import hudson.model.TaskListener;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
 
 /**
- * Handles logging of issues log and error messages to a {@link TaskListener} instance.
+ * Handles logging of issues log and error messages to a {@link TaskListener} instance. Messages can be logged in
+ * batches from a {@link FilteredLog} or streamed one by one using the {@link LogSink} methods. Streamed messages are
+ * written in batches: a batch is written when it contains {@value #STREAMING_BATCH_SIZE} lines, one second after the
+ * first message of the batch has been streamed, when a batch of messages is logged, or when {@link #flush()} is called.
+ * Messages can be streamed from several threads concurrently. If the number of printed lines is limited, then the
+ * number of suppressed lines is printed when the handler is flushed. So the handler must be flushed at the end of a
+ * step if messages have been streamed or if lines might have been suppressed.
  *
  * @author Ullrich Hafner
  */
-public class LogHandler {
+public class LogHandler implements LogSink {
+    /** The maximum number of streamed lines that are written together. */
+    static final int STREAMING_BATCH_SIZE = 64;
+    private static final long STREAMING_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
     private final PluginLogger errorLogger;
     private final PluginLogger infoLogger;
 
@@ -21,6 +43,19 @@ public class LogHandler {
     private int errorPosition;
     private boolean quiet;
 
+    private boolean collapseDuplicates;
+    private int maximumLines = Integer.MAX_VALUE;
+    private int printedLines;
+    private int suppressedInfoLines;
+    private int suppressedErrorLines;
+    @CheckForNull
+    private LogArchive archive;
+
+    private final List<String> pendingLines = new ArrayList<>();
+    @CheckForNull
+    private PluginLogger pendingLogger;
+    private long pendingBatch;
+
     /**
      * Creates a new {@link LogHandler}.
      *
@@ -49,32 +84,55 @@ public class LogHandler {
 
     private LogHandler(final TaskListener listener, final String name, final int infoPosition,
             final int errorPosition) {
-        infoLogger = createLogger(listener, name);
-        errorLogger = createErrorLogger(listener, name);
+        this(createLogger(listener, name), createErrorLogger(listener, name), infoPosition, errorPosition);
+    }
+
+    LogHandler(final PluginLogger infoLogger, final PluginLogger errorLogger, final int infoPosition,
+            final int errorPosition) {
+        this.infoLogger = infoLogger;
+        this.errorLogger = errorLogger;
         this.infoPosition = infoPosition;
         this.errorPosition = errorPosition;
     }
 
-    private PluginLogger createErrorLogger(final TaskListener listener, final String name) {
+    static PluginLogger createErrorLogger(final TaskListener listener, final String name) {
         return createLogger(listener, "[%s] [-ERROR-]".formatted(name));
     }
 
-    private PluginLogger createLogger(final TaskListener listener, final String name) {
-        return new PluginLogger(listener.getLogger(), name);
+    static PluginLogger createLogger(final TaskListener listener, final String name) {
+        return new BufferedPluginLogger(listener.getLogger(), name);
     }
 
     /**
      * Log all info and error messages that are stored in the set of issues. Note that subsequent calls to this method
-     * will only log messages that have not yet been logged.
+     * will only log messages that have not yet been logged. Messages of a {@link StreamingLog} that already have been
+     * streamed to a {@link LogSink} are skipped as well.
      *
      * @param logger
      *         the logger with the collected messages
      */
-    public void log(final FilteredLog logger) {
+    public synchronized void log(final FilteredLog logger) {
+        if (logger instanceof StreamingLog streamingLog) {
+            errorPosition = Math.max(errorPosition, streamingLog.getStreamedErrorCount());
+            infoPosition = Math.max(infoPosition, streamingLog.getStreamedInfoCount());
+        }
         logErrorMessages(logger);
         logInfoMessages(logger);
     }
 
+    /**
+     * Writes all streamed messages that are still pending. If lines have been suppressed since the last summary, then
+     * the number of suppressed lines will be printed.
+     */
+    public synchronized void flush() {
+        writePendingLines();
+
+        printSuppressedSummary(errorLogger, suppressedErrorLines);
+        suppressedErrorLines = 0;
+        printSuppressedSummary(infoLogger, suppressedInfoLines);
+        suppressedInfoLines = 0;
+    }
+
     /**
      * Logs the specified message.
      *
@@ -86,10 +144,71 @@ public class LogHandler {
      *         zero.
      */
     @FormatMethod
-    public void log(final String format, final Object... args) {
+    public synchronized void log(final String format, final Object... args) {
+        writePendingLines();
+
         infoLogger.log(format, args);
     }
 
+    /**
+     * Streams the specified information message. The message will be written together with the next batch of
+     * streamed messages.
+     *
+     * @param message
+     *         the message to log
+     */
+    @Override
+    public synchronized void logInfo(final String message) {
+        if (!quiet) {
+            stream(infoLogger, message);
+        }
+    }
+
+    /**
+     * Streams the specified error message. The message will be written together with the next batch of streamed
+     * messages.
+     *
+     * @param message
+     *         the message to log
+     */
+    @Override
+    public synchronized void logError(final String message) {
+        if (!quiet) {
+            stream(errorLogger, message);
+        }
+    }
+
+    private void stream(final PluginLogger logger, final String message) {
+        if (pendingLogger != logger) {
+            writePendingLines();
+
+            pendingLogger = logger;
+        }
+        pendingLines.add(message);
+        if (pendingLines.size() >= STREAMING_BATCH_SIZE) {
+            writePendingLines();
+        }
+        else if (pendingLines.size() == 1) {
+            var batch = pendingBatch;
+            StreamingTimer.TIMER.schedule(() -> writeExpiredLines(batch), STREAMING_INTERVAL, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private synchronized void writeExpiredLines(final long batch) {
+        if (pendingBatch == batch) { // otherwise, the batch has been written already
+            writePendingLines();
+        }
+    }
+
+    private void writePendingLines() {
+        if (pendingLogger != null && !pendingLines.isEmpty()) {
+            print(pendingLogger, new ArrayList<>(pendingLines));
+            pendingBatch++;
+        }
+        pendingLines.clear();
+        pendingLogger = null;
+    }
+
     private void logErrorMessages(final FilteredLog logger) {
         logErrorMessages(logger.getErrorMessages());
     }
@@ -100,9 +219,10 @@ public class LogHandler {
      * @param errorMessages
      *         the error messages to log
      */
-    public void logErrorMessages(final List<String> errorMessages) {
+    public synchronized void logErrorMessages(final List<String> errorMessages) {
         if (errorPosition < errorMessages.size() && !quiet) {
-            errorLogger.logEachLine(errorMessages.subList(errorPosition, errorMessages.size()));
+            writePendingLines();
+            print(errorLogger, errorMessages.subList(errorPosition, errorMessages.size()));
             errorPosition = errorMessages.size();
         }
     }
@@ -117,14 +237,119 @@ public class LogHandler {
      * @param infoMessages
      *         the information messages to log
      */
-    public void logInfoMessages(final List<String> infoMessages) {
+    public synchronized void logInfoMessages(final List<String> infoMessages) {
         if (infoPosition < infoMessages.size() && !quiet) {
-            infoLogger.logEachLine(infoMessages.subList(infoPosition, infoMessages.size()));
+            writePendingLines();
+            print(infoLogger, infoMessages.subList(infoPosition, infoMessages.size()));
             infoPosition = infoMessages.size();
         }
     }
 
-    public void setQuiet(final boolean quiet) {
+    private void print(final PluginLogger logger, final List<String> lines) {
+        archive(logger, lines);
+
+        var printable = collapseDuplicates ? collapse(lines) : lines;
+        int remaining = maximumLines - printedLines;
+        if (printable.size() <= remaining) {
+            logger.logEachLine(printable);
+            printedLines += printable.size();
+        }
+        else {
+            if (remaining > 0) {
+                logger.logEachLine(printable.subList(0, remaining));
+                printedLines = maximumLines;
+            }
+            int suppressed = printable.size() - Math.max(remaining, 0);
+            if (logger == errorLogger) {
+                suppressedErrorLines += suppressed;
+            }
+            else {
+                suppressedInfoLines += suppressed;
+            }
+        }
+    }
+
+    private void printSuppressedSummary(final PluginLogger logger, final int suppressed) {
+        if (suppressed == 0) {
+            return;
+        }
+        if (archive == null) {
+            logger.log("... %d more lines suppressed", suppressed);
+        }
+        else {
+            logger.log("... %d more lines suppressed (see '%s')", suppressed, archive.getFile().getFileName());
+        }
+    }
+
+    private List<String> collapse(final List<String> lines) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        lines.forEach(line -> counts.merge(line, 1, Integer::sum));
+        if (counts.size() == lines.size()) {
+            return lines;
+        }
+        return counts.entrySet().stream()
+                .map(entry -> entry.getValue() == 1
+                        ? entry.getKey() : "%s (%d times)".formatted(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    private void archive(final PluginLogger logger, final List<String> lines) {
+        if (archive != null) {
+            try {
+                archive.append(lines.stream().map(line -> logger.getPrefix() + line).collect(Collectors.toList()));
+            }
+            catch (IOException exception) {
+                errorLogger.log("Can't write log archive '%s': %s", archive.getFile(), exception.getMessage());
+                archive = null;
+            }
+        }
+    }
+
+    public synchronized void setQuiet(final boolean quiet) {
         this.quiet = quiet;
     }
+
+    /**
+     * Determines whether repeated messages should be collapsed. If enabled, duplicate messages that are logged in the
+     * same call (or streamed in the same batch) are printed only once, together with the number of occurrences.
+     *
+     * @param collapseDuplicates
+     *         {@code true} if duplicate messages should be collapsed, {@code false} otherwise
+     */
+    public synchronized void setCollapseDuplicates(final boolean collapseDuplicates) {
+        this.collapseDuplicates = collapseDuplicates;
+    }
+
+    /**
+     * Sets the maximum number of info and error lines that will be printed by this handler. Additional lines are
+     * suppressed, the number of suppressed lines is printed as a summary when the handler is flushed.
+     *
+     * @param maximumLines
+     *         the maximum number of lines to print
+     */
+    public synchronized void setMaximumLines(final int maximumLines) {
+        this.maximumLines = Math.max(maximumLines, 0);
+    }
+
+    /**
+     * Sets the file that stores the full list of info and error messages in compressed form. All messages are archived,
+     * even if they are collapsed or suppressed in the console.
+     *
+     * @param archiveFile
+     *         the compressed file to write the messages to, typically located in the build folder
+     *
+     * @see LogArchive
+     */
+    public synchronized void setArchive(final Path archiveFile) {
+        this.archive = new LogArchive(archiveFile);
+    }
+
+    /**
+     * The timer that writes streamed messages that have been pending for {@link #STREAMING_INTERVAL}. The timer is
+     * created on first use.
+     */
+    private static final class StreamingTimer {
+        static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(
+                new NamingThreadFactory(new DaemonThreadFactory(), LogHandler.class.getSimpleName()));
+    }
 }
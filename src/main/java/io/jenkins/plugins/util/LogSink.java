@@ -0,0 +1,93 @@
+package io.jenkins.plugins.util;
+
+import com.google.errorprone.annotations.FormatMethod;
+
+import edu.hm.hafner.util.FilteredLog;
+
+/**
+ * A sink for log messages that handles each message as soon as it has been logged. In contrast to a {@link FilteredLog}
+ * the messages do not need to be kept in memory until the end of a step, so long-running steps can show their progress
+ * immediately.
+ *
+ * @author Ullrich Hafner
+ * @see LogHandler
+ * @see ConsoleLogSink
+ * @see StreamingLog
+ */
+public interface LogSink {
+    /**
+     * Creates a {@link LogSink} that stores all messages in the specified {@link FilteredLog}.
+     *
+     * @param log
+     *         the log to store the messages in
+     *
+     * @return the log sink
+     */
+    static LogSink of(final FilteredLog log) {
+        return new LogSink() {
+            @Override
+            public void logInfo(final String message) {
+                log.logInfo(message);
+            }
+
+            @Override
+            public void logError(final String message) {
+                log.logError(message);
+            }
+        };
+    }
+
+    /**
+     * Logs the specified information message.
+     *
+     * @param message
+     *         the message to log
+     */
+    void logInfo(String message);
+
+    /**
+     * Logs the specified information message.
+     *
+     * @param format
+     *         A <a href="../util/Formatter.html#syntax">format string</a>
+     * @param args
+     *         Arguments referenced by the format specifiers in the format string.  If there are more arguments than
+     *         format specifiers, the extra arguments are ignored.  The number of arguments is variable and may be
+     *         zero.
+     */
+    @FormatMethod
+    default void logInfo(final String format, final Object... args) {
+        logInfo(format.formatted(args));
+    }
+
+    /**
+     * Logs the specified error message.
+     *
+     * @param message
+     *         the message to log
+     */
+    void logError(String message);
+
+    /**
+     * Logs the specified error message.
+     *
+     * @param format
+     *         A <a href="../util/Formatter.html#syntax">format string</a>
+     * @param args
+     *         Arguments referenced by the format specifiers in the format string.  If there are more arguments than
+     *         format specifiers, the extra arguments are ignored.  The number of arguments is variable and may be
+     *         zero.
+     */
+    @FormatMethod
+    default void logError(final String format, final Object... args) {
+        logError(format.formatted(args));
+    }
+
+    /**
+     * Writes all messages that are still buffered by this sink. Sinks that handle each message immediately do not need
+     * to override this method.
+     */
+    default void flush() {
+        // nothing to flush by default
+    }
+}
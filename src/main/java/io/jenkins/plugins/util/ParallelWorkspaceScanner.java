@@ -0,0 +1,155 @@
+package io.jenkins.plugins.util;
+
+import edu.hm.hafner.util.FilteredLog;
+import edu.hm.hafner.util.VisibleForTesting;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+import hudson.FilePath;
+import hudson.model.Computer;
+
+import io.jenkins.plugins.util.AgentFileVisitor.FileVisitorResult;
+
+/**
+ * Scans several workspaces concurrently with the same {@link AgentFileVisitor}. This is useful if the reports of a
+ * build have been created on several agents, e.g., in a matrix build. The visitor is dispatched to all workspaces at
+ * once, so the total duration is determined by the slowest agent rather than by the sum of all agents. The log messages
+ * of each workspace are merged into a single log, each message is prefixed with the label of the corresponding
+ * workspace.
+ *
+ * <p>
+ * Note that the same visitor instance is used for all workspaces: if a workspace is located on the controller, then
+ * the visitor will be invoked concurrently without being serialized. So the visitor must not change its state while
+ * scanning the files.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class ParallelWorkspaceScanner {
+    private final ExecutorService executor;
+
+    /**
+     * Creates a new instance of {@link ParallelWorkspaceScanner} that uses the thread pool of Jenkins for remoting
+     * calls.
+     */
+    public ParallelWorkspaceScanner() {
+        this(Computer.threadPoolForRemoting);
+    }
+
+    @VisibleForTesting
+    ParallelWorkspaceScanner(final ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Scans the specified workspaces concurrently with the specified visitor.
+     *
+     * @param visitor
+     *         the visitor that scans the files of each workspace
+     * @param workspaces
+     *         the workspaces to scan, mapped by a label (e.g., the name of the agent) that will be used as prefix of
+     *         the log messages
+     * @param log
+     *         the logger that receives the merged log messages of all workspaces
+     * @param <T>
+     *         the type of the results
+     *
+     * @return the results of all workspaces that have been scanned successfully, mapped by the label of the workspace
+     *         (in the order of the specified workspaces)
+     * @throws InterruptedException
+     *         if the user canceled the execution, in this case the remaining scans are canceled as well
+     */
+    public <T extends Serializable> Map<String, FileVisitorResult<T>> scan(final AgentFileVisitor<T> visitor,
+            final Map<String, FilePath> workspaces, final FilteredLog log) throws InterruptedException {
+        return scan(visitor, workspaces, log, (label, result) -> { });
+    }
+
+    /**
+     * Scans the specified workspaces concurrently with the specified visitor. The specified callback is invoked in the
+     * calling thread for each workspace as soon as its scan has been completed.
+     *
+     * @param visitor
+     *         the visitor that scans the files of each workspace
+     * @param workspaces
+     *         the workspaces to scan, mapped by a label (e.g., the name of the agent) that will be used as prefix of
+     *         the log messages
+     * @param log
+     *         the logger that receives the merged log messages of all workspaces
+     * @param onCompletion
+     *         the callback that will be invoked with the label and the result of each completed workspace
+     * @param <T>
+     *         the type of the results
+     *
+     * @return the results of all workspaces that have been scanned successfully, mapped by the label of the workspace
+     *         (in the order of the specified workspaces)
+     * @throws InterruptedException
+     *         if the user canceled the execution, in this case the remaining scans are canceled as well
+     */
+    public <T extends Serializable> Map<String, FileVisitorResult<T>> scan(final AgentFileVisitor<T> visitor,
+            final Map<String, FilePath> workspaces, final FilteredLog log,
+            final BiConsumer<String, FileVisitorResult<T>> onCompletion) throws InterruptedException {
+        var completionService = new ExecutorCompletionService<FileVisitorResult<T>>(executor);
+        Map<Future<FileVisitorResult<T>>, String> labels = new HashMap<>();
+        for (Entry<String, FilePath> workspace : workspaces.entrySet()) {
+            labels.put(completionService.submit(() -> workspace.getValue().act(visitor)), workspace.getKey());
+        }
+
+        Map<String, FileVisitorResult<T>> completed = new HashMap<>();
+        List<Future<FileVisitorResult<T>>> pending = new ArrayList<>(labels.keySet());
+        try {
+            for (int i = 0; i < workspaces.size(); i++) {
+                var future = completionService.take();
+                pending.remove(future);
+                var label = labels.get(future);
+                try {
+                    var result = future.get();
+                    mergeLog(label, result.getLog(), log);
+                    completed.put(label, result);
+                    onCompletion.accept(label, result);
+                }
+                catch (ExecutionException exception) {
+                    var cause = exception.getCause();
+                    if (cause instanceof InterruptedException) {
+                        throw (InterruptedException) cause;
+                    }
+                    log.logException(cause instanceof Exception ? (Exception) cause : exception,
+                            "[%s] Can't scan workspace '%s'", label, workspaces.get(label).getRemote());
+                }
+            }
+        }
+        catch (InterruptedException exception) {
+            pending.forEach(future -> future.cancel(true));
+
+            throw exception;
+        }
+
+        Map<String, FileVisitorResult<T>> results = new LinkedHashMap<>();
+        for (String label : workspaces.keySet()) {
+            if (completed.containsKey(label)) {
+                results.put(label, completed.get(label));
+            }
+        }
+        return results;
+    }
+
+    private void mergeLog(final String label, final FilteredLog source, final FilteredLog target) {
+        source.getInfoMessages().forEach(message -> target.logInfo("[%s] %s", label, message));
+
+        var errors = source.getErrorMessages();
+        if (!errors.isEmpty()) {
+            errors.subList(1, errors.size()) // skip the title of the source log
+                    .forEach(message -> target.logError("[%s] %s", label, message));
+        }
+    }
+}
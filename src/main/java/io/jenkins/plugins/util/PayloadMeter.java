@@ -0,0 +1,104 @@
+package io.jenkins.plugins.util;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the size and the serialization time of objects that are transferred through a remoting channel. The
+ * objects are serialized into a stream that only counts the bytes, so no memory is allocated for the serialized form.
+ *
+ * @author Ullrich Hafner
+ */
+final class PayloadMeter {
+    private static final long KILO_BYTE = 1024;
+    private static final long MEGA_BYTE = KILO_BYTE * KILO_BYTE;
+
+    /**
+     * Serializes the specified payload and reports the size and the serialization time in the specified log.
+     *
+     * @param name
+     *         a human-readable name of the payload
+     * @param payload
+     *         the payload to measure
+     * @param log
+     *         the log to report the result to
+     */
+    static void report(final String name, final Serializable payload, final FilteredLog log) {
+        try {
+            var start = System.nanoTime();
+            var size = getSerializedSize(payload);
+            var duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            log.logInfo("-> serialized size of %s: %s (serialized in %d ms)", name, formatSize(size), duration);
+        }
+        catch (IOException exception) {
+            log.logException(exception, "Can't determine the serialized size of %s", name);
+        }
+    }
+
+    /**
+     * Returns the number of bytes of the serialized form of the specified payload.
+     *
+     * @param payload
+     *         the payload to serialize
+     *
+     * @return the size in bytes
+     * @throws IOException
+     *         if the payload cannot be serialized
+     */
+    static long getSerializedSize(final Serializable payload) throws IOException {
+        var counter = new CountingOutputStream();
+        try (var output = new ObjectOutputStream(counter)) {
+            output.writeObject(payload);
+        }
+        return counter.getCount();
+    }
+
+    /**
+     * Formats the specified number of bytes in a human-readable form.
+     *
+     * @param bytes
+     *         the number of bytes
+     *
+     * @return the formatted size
+     */
+    static String formatSize(final long bytes) {
+        if (bytes >= MEGA_BYTE) {
+            return String.format(Locale.ENGLISH, "%.1f MB", (double) bytes / MEGA_BYTE);
+        }
+        if (bytes >= KILO_BYTE) {
+            return String.format(Locale.ENGLISH, "%.1f KB", (double) bytes / KILO_BYTE);
+        }
+        return "%d bytes".formatted(bytes);
+    }
+
+    private PayloadMeter() {
+        // prevents instantiation
+    }
+
+    /**
+     * An output stream that discards all bytes and counts them.
+     */
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(final int b) {
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package io.jenkins.plugins.util;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import edu.hm.hafner.util.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Caches the results of permission checks for a short time. The results are cached per authentication, permission,
+ * and item. An authentication is identified by its name, its type, and its granted authorities (see
+ * {@link #createPrincipalKey(Authentication)}), so authentications with the same name but different groups or scopes
+ * do not share cached results. All cached results are discarded as soon as the security configuration (i.e., the
+ * authorization strategy or the security realm) has been replaced or the cache has been invalidated. Each cached result
+ * records the generation of the cache that was current before the permission check has been started. Results of
+ * checks that overlap with a change of the security configuration will therefore never be returned, even if they are
+ * stored after the cache has been cleared.
+ *
+ * @author Ullrich Hafner
+ */
+class PermissionCache {
+    /** The default time a cached permission check remains valid. */
+    static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofSeconds(10);
+    /** The maximum number of cached permission checks. */
+    static final int MAXIMUM_SIZE = 10_000;
+
+    private static final char SEPARATOR = '\u0000';
+
+    private final long timeToLive;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+
+    @CheckForNull
+    private Object authorizationStrategy;
+    @CheckForNull
+    private Object securityRealm;
+
+    PermissionCache() {
+        this(DEFAULT_TIME_TO_LIVE, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    PermissionCache(final Duration timeToLive, final LongSupplier clock) {
+        this.timeToLive = timeToLive.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Returns whether the specified authentication has the specified permission for the specified item. If there is a
+     * valid cached result, then this result will be returned. Otherwise, the permission check will be evaluated and
+     * the result will be cached.
+     *
+     * @param strategy
+     *         the current authorization strategy
+     * @param realm
+     *         the current security realm
+     * @param authentication
+     *         the key of the current authentication, see {@link #createPrincipalKey(Authentication)}
+     * @param permissionId
+     *         the ID of the permission to check
+     * @param itemName
+     *         the full name of the item (or an empty string for checks on the Jenkins root)
+     * @param check
+     *         the actual permission check
+     *
+     * @return the (possibly cached) result of the permission check
+     */
+    boolean hasPermission(final Object strategy, final Object realm, final String authentication,
+            final String permissionId, final String itemName, final BooleanSupplier check) {
+        var currentGeneration = validateSecurityConfiguration(strategy, realm);
+
+        var key = authentication + SEPARATOR + permissionId + SEPARATOR + itemName;
+        var now = clock.getAsLong();
+        var cached = entries.get(key);
+        if (cached != null && cached.generation == currentGeneration && now - cached.created < timeToLive) {
+            hits.incrementAndGet();
+            return cached.isGranted;
+        }
+
+        misses.incrementAndGet();
+        var isGranted = check.getAsBoolean();
+        if (entries.size() >= MAXIMUM_SIZE) {
+            entries.clear();
+        }
+        entries.put(key, new Entry(isGranted, now, currentGeneration));
+        return isGranted;
+    }
+
+    /**
+     * Creates the key of the specified authentication that is used in the cache. The key contains the name, the type,
+     * and the sorted granted authorities of the authentication.
+     *
+     * @param authentication
+     *         the authentication
+     *
+     * @return the key of the authentication
+     */
+    static String createPrincipalKey(final Authentication authentication) {
+        var authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+        return authentication.getName() + SEPARATOR + authentication.getClass().getName() + SEPARATOR + authorities;
+    }
+
+    private synchronized long validateSecurityConfiguration(final Object strategy, final Object realm) {
+        if (strategy != authorizationStrategy || realm != securityRealm) {
+            authorizationStrategy = strategy;
+            securityRealm = realm;
+            invalidate();
+        }
+        return generation.get();
+    }
+
+    /**
+     * Discards all cached permission checks. Permission checks that are currently running will not be cached either.
+     */
+    synchronized void invalidate() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    long getHitCount() {
+        return hits.get();
+    }
+
+    long getMissCount() {
+        return misses.get();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * A cached result of a permission check.
+     */
+    private static final class Entry {
+        private final boolean isGranted;
+        private final long created;
+        private final long generation;
+
+        Entry(final boolean isGranted, final long created, final long generation) {
+            this.isGranted = isGranted;
+            this.created = created;
+            this.generation = generation;
+        }
+    }
+}
@@ -60,4 +60,12 @@ public class PluginLogger {
     private void print(final String line) {
         delegate.println(pluginName + line);
     }
+
+    String getPrefix() {
+        return pluginName;
+    }
+
+    PrintStream getDelegate() {
+        return delegate;
+    }
 }
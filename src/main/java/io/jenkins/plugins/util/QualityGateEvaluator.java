@@ -17,6 +17,7 @@ import edu.hm.hafner.util.VisibleForTesting;
  */
 public abstract class QualityGateEvaluator<T extends QualityGate> {
     private final List<T> qualityGates = new ArrayList<>();
+    private TrendStatistics trendStatistics = new TrendStatistics();
 
     @VisibleForTesting
     QualityGateEvaluator() {
@@ -44,6 +45,21 @@ public abstract class QualityGateEvaluator<T extends QualityGate> {
      * @return result of the evaluation, expressed by a build state
      */
     public QualityGateResult evaluate(final ResultHandler resultHandler, final FilteredLog log) {
+        return evaluate(resultHandler, LogSink.of(log));
+    }
+
+    /**
+     * Enforces the quality gates for the specified run. The log messages are written immediately to the specified
+     * {@link LogSink}, e.g., a {@link LogHandler} that prints the messages to the console log.
+     *
+     * @param resultHandler
+     *         the result handler to publish the result
+     * @param log
+     *         the sink for the log messages
+     *
+     * @return result of the evaluation, expressed by a build state
+     */
+    public QualityGateResult evaluate(final ResultHandler resultHandler, final LogSink log) {
         var result = createResult();
 
         if (qualityGates.isEmpty()) {
@@ -78,6 +94,64 @@ public abstract class QualityGateEvaluator<T extends QualityGate> {
 
     protected abstract void evaluate(T qualityGate, QualityGateResult result);
 
+    /**
+     * Evaluates a trend quality gate. The actual value is compared with the mean of the values that have been recorded
+     * for the specified metric in the previous builds. The threshold of the quality gate defines the maximum regression
+     * (in percent) that is allowed with respect to this mean. If there are no values recorded yet, the quality gate
+     * will be passed. Note that the statistics must not contain the value of the current build, otherwise the current
+     * build would be compared with itself: see {@link #setTrendStatistics(TrendStatistics)} for the required order of
+     * the calls.
+     *
+     * @param qualityGate
+     *         the quality gate to evaluate
+     * @param metric
+     *         the name of the metric in the {@link TrendStatistics}
+     * @param actualValue
+     *         the value of the metric in the current build
+     * @param isHigherBetter
+     *         determines whether higher values of the metric are better ({@code true}) or worse ({@code false})
+     * @param result
+     *         the result to add the evaluated quality gate to
+     * @see #setTrendStatistics(TrendStatistics)
+     */
+    protected void evaluateTrend(final T qualityGate, final String metric, final double actualValue,
+            final boolean isHigherBetter, final QualityGateResult result) {
+        var statistics = trendStatistics.getStatistics(metric);
+        if (statistics.isEmpty() || statistics.get().isEmpty()) {
+            result.add(qualityGate, QualityGateStatus.PASSED, "%.2f (no previous builds)".formatted(actualValue));
+
+            return;
+        }
+
+        double mean = statistics.get().getMean();
+        double regression = computeRegression(mean, actualValue, isHigherBetter);
+        var status = regression > qualityGate.getThreshold() ? qualityGate.getStatus() : QualityGateStatus.PASSED;
+        result.add(qualityGate, status, "%.2f (mean of last %d builds: %.2f, regression: %.2f%%)".formatted(
+                actualValue, statistics.get().size(), mean, regression));
+    }
+
+    private double computeRegression(final double mean, final double actualValue, final boolean isHigherBetter) {
+        double delta = isHigherBetter ? mean - actualValue : actualValue - mean;
+        if (mean == 0) {
+            return delta > 0 ? Double.POSITIVE_INFINITY : 0;
+        }
+        return delta * 100 / Math.abs(mean);
+    }
+
+    /**
+     * Sets the statistics of the previous builds that will be used to evaluate trend quality gates. The statistics
+     * must be loaded before the values of the current build are added: i.e., load the statistics with
+     * {@link TrendStatisticsStore#load(hudson.model.Job)}, evaluate the quality gates, and then record the values of
+     * the current build with {@link TrendStatisticsStore#update(hudson.model.Run, java.util.Map)}.
+     *
+     * @param trendStatistics
+     *         the statistics of the previous builds
+     * @see TrendStatisticsStore
+     */
+    public void setTrendStatistics(final TrendStatistics trendStatistics) {
+        this.trendStatistics = trendStatistics;
+    }
+
     /**
      * Appends all the specified quality gates to the end of the existing quality gates.
      *
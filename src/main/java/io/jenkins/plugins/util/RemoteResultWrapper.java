@@ -5,9 +5,13 @@ import java.io.Serializable;
 import java.util.Objects;
 
 import edu.hm.hafner.util.FilteredLog;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 
 /**
  * A serializable result combined with a logger. Enables remote calls to return a result and a corresponding log.
+ * Optionally, the result is transferred in a {@link CompressedPayload}: then large results are compressed and equal
+ * strings of the result are deduplicated on the receiving side. Such a result is deserialized on the first call of
+ * {@link #getResult()}: at that time, the deduplication statistics are reported to this log.
  *
  * @param <T>
  *         the type of the result
@@ -16,9 +20,12 @@ import edu.hm.hafner.util.FilteredLog;
  */
 public class RemoteResultWrapper<T extends Serializable> extends FilteredLog {
     @Serial
-    private static final long serialVersionUID = -6411417555105688927L;
+    private static final long serialVersionUID = 1387716918120407527L;
 
+    @CheckForNull
     private final T result;
+    @CheckForNull
+    private final CompressedPayload<T> payload;
 
     /**
      * Creates a new instance of {@link RemoteResultWrapper}.
@@ -32,9 +39,37 @@ public class RemoteResultWrapper<T extends Serializable> extends FilteredLog {
         super(title);
 
         this.result = result;
+        this.payload = null;
     }
 
+    /**
+     * Creates a new instance of {@link RemoteResultWrapper} that compresses the result if its serialized form exceeds
+     * the specified threshold. The result is decompressed on the receiving side when it is accessed for the first
+     * time.
+     *
+     * @param title
+     *         the title of the error messages
+     * @param result
+     *         the wrapped result
+     * @param compressionThreshold
+     *         the minimum size (in bytes) of the serialized result that will be compressed
+     */
+    public RemoteResultWrapper(final T result, final String title, final int compressionThreshold) {
+        super(title);
+
+        this.result = null;
+        this.payload = result == null ? null : CompressedPayload.of(result, compressionThreshold);
+    }
+
+    /**
+     * Returns the wrapped result.
+     *
+     * @return the result
+     */
     public T getResult() {
+        if (payload != null) { // the payload returns the same instance on subsequent calls
+            return payload.get(this);
+        }
         return result;
     }
 
@@ -46,19 +81,28 @@ public class RemoteResultWrapper<T extends Serializable> extends FilteredLog {
         if (o == null || getClass() != o.getClass()) {
             return false;
         }
+
         if (!super.equals(o)) {
             return false;
         }
 
         RemoteResultWrapper<?> that = (RemoteResultWrapper<?>) o;
 
-        return Objects.equals(result, that.result);
+        return Objects.equals(getRestoredResult(), that.getRestoredResult());
     }
 
     @Override
     public int hashCode() {
         int result1 = super.hashCode();
-        result1 = 31 * result1 + (result != null ? result.hashCode() : 0);
+        result1 = 31 * result1 + Objects.hashCode(getRestoredResult());
         return result1;
     }
+
+    @CheckForNull
+    private T getRestoredResult() {
+        if (payload != null) { // does not report the statistics, so comparing two instances does not change the log
+            return payload.get();
+        }
+        return result;
+    }
 }
@@ -0,0 +1,126 @@
+package io.jenkins.plugins.util;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Rolling statistics of a single metric. Stores the values of the latest builds in a window of a fixed size so that
+ * the mean, minimum, maximum, and percentiles of a metric can be evaluated without reading the results of previous
+ * builds.
+ *
+ * @author Ullrich Hafner
+ */
+public class RollingStatistics implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 8295473618473628185L;
+
+    private final int windowSize;
+    @SuppressWarnings("PMD.LooseCoupling")
+    private final ArrayDeque<Double> values = new ArrayDeque<>();
+
+    /**
+     * Creates a new instance of {@link RollingStatistics}.
+     *
+     * @param windowSize
+     *         the maximum number of values that will be retained
+     */
+    public RollingStatistics(final int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Adds a new value to this window. If the window is full, then the oldest value will be removed.
+     *
+     * @param value
+     *         the value to add
+     */
+    public void add(final double value) {
+        if (values.size() == windowSize) {
+            values.removeFirst();
+        }
+        values.addLast(value);
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Returns the number of values in this window.
+     *
+     * @return the number of values
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Returns whether this window does not contain any values yet.
+     *
+     * @return {@code true} if this window is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * Returns the mean of all values in this window.
+     *
+     * @return the mean, or 0 if the window is empty
+     */
+    public double getMean() {
+        return values.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+    }
+
+    /**
+     * Returns the minimum of all values in this window.
+     *
+     * @return the minimum, or 0 if the window is empty
+     */
+    public double getMin() {
+        return values.stream().mapToDouble(Double::doubleValue).min().orElse(0);
+    }
+
+    /**
+     * Returns the maximum of all values in this window.
+     *
+     * @return the maximum, or 0 if the window is empty
+     */
+    public double getMax() {
+        return values.stream().mapToDouble(Double::doubleValue).max().orElse(0);
+    }
+
+    /**
+     * Returns the specified percentile of all values in this window. The percentile is computed using the nearest-rank
+     * method.
+     *
+     * @param percentile
+     *         the percentile, must be in the interval (0, 100]
+     *
+     * @return the value at the specified percentile, or 0 if the window is empty
+     */
+    public double getPercentile(final double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in the interval (0, 100]: " + percentile);
+        }
+        if (values.isEmpty()) {
+            return 0;
+        }
+
+        double[] sorted = values.stream().mapToDouble(Double::doubleValue).toArray();
+        Arrays.sort(sorted);
+
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    @Override
+    public String toString() {
+        return "mean: %.2f, min: %.2f, max: %.2f (%d values)".formatted(getMean(), getMin(), getMax(), size());
+    }
+}
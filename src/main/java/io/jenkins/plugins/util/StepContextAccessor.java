@@ -0,0 +1,129 @@
+package io.jenkins.plugins.util;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import org.jenkinsci.plugins.workflow.graph.FlowNode;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import hudson.FilePath;
+import hudson.model.Computer;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.remoting.Channel;
+import hudson.remoting.VirtualChannel;
+
+/**
+ * Provides access to the elements of a {@link StepContext}. This helper implements the context related methods of the
+ * different step executions of this plugin ({@link AbstractExecution} and {@link AbstractVirtualThreadExecution}):
+ * since these executions extend different step execution classes of the pipeline API, they cannot share a common base
+ * class and delegate to this helper instead. Resolved elements are cached, so that repeated calls do not query the
+ * context again. The workspace folders are created only once, since this requires a remote call if the workspace is
+ * located on an agent. The channel to the agent is not cached if it is not available or has been closed: in this case,
+ * it will be resolved again on the next call, so that a reconnected agent will be used. All methods are synchronized
+ * since an accessor might be used by several threads of the step execution.
+ *
+ * @author Ullrich Hafner
+ */
+class StepContextAccessor {
+    private final StepContext context;
+    private final Object execution;
+
+    @CheckForNull
+    private Run<?, ?> run;
+    @CheckForNull
+    private VirtualChannel channel;
+    @CheckForNull
+    private FilePath workspace;
+    @CheckForNull
+    private TaskListener listener;
+    @CheckForNull
+    private FlowNode flowNode;
+
+    /**
+     * Creates a new instance of {@link StepContextAccessor}.
+     *
+     * @param context
+     *         the context of the step
+     * @param execution
+     *         the execution that uses this accessor (used in error messages)
+     */
+    StepContextAccessor(final StepContext context, final Object execution) {
+        this.context = context;
+        this.execution = execution;
+    }
+
+    synchronized Run<?, ?> getRun() throws IOException, InterruptedException {
+        if (run == null) {
+            run = context.get(Run.class);
+
+            if (run == null) {
+                throw new IOException("Can't resolve Run for " + execution);
+            }
+        }
+
+        return run;
+    }
+
+    synchronized Optional<VirtualChannel> getChannel() throws IOException, InterruptedException {
+        if (channel == null || isClosed(channel)) {
+            var computer = context.get(Computer.class);
+            channel = computer == null ? null : computer.getChannel();
+        }
+
+        return Optional.ofNullable(channel);
+    }
+
+    private boolean isClosed(final VirtualChannel virtualChannel) {
+        return virtualChannel instanceof Channel remote && remote.isClosingOrClosed();
+    }
+
+    synchronized FilePath getWorkspace() throws IOException, InterruptedException {
+        if (workspace == null) {
+            var resolved = context.get(FilePath.class);
+
+            if (resolved == null) {
+                throw new IOException("No workspace available for " + execution);
+            }
+
+            resolved.mkdirs();
+            workspace = resolved;
+        }
+
+        return workspace;
+    }
+
+    synchronized TaskListener getTaskListener() throws InterruptedException, IOException {
+        if (listener == null) {
+            var resolved = context.get(TaskListener.class);
+            listener = resolved == null ? TaskListener.NULL : resolved;
+        }
+
+        return listener;
+    }
+
+    FilePath getBuildFolder() throws IOException, InterruptedException {
+        return new FilePath(getRun().getRootDir());
+    }
+
+    ResultHandler createResultHandler() throws IOException, InterruptedException {
+        return new PipelineResultHandler(getRun(), getFlowNode());
+    }
+
+    BatchingResultHandler createBatchingResultHandler() throws IOException, InterruptedException {
+        return new BatchingResultHandler(getRun(), getFlowNode());
+    }
+
+    synchronized FlowNode getFlowNode() throws IOException, InterruptedException {
+        if (flowNode == null) {
+            flowNode = context.get(FlowNode.class);
+
+            if (flowNode == null) {
+                throw new IllegalStateException("FlowNode is not defined in the context of " + execution);
+            }
+        }
+
+        return flowNode;
+    }
+}
@@ -0,0 +1,130 @@
+package io.jenkins.plugins.util;
+
+import com.google.errorprone.annotations.FormatMethod;
+
+import edu.hm.hafner.util.FilteredLog;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.Serial;
+
+/**
+ * A {@link FilteredLog} that forwards all messages to a {@link LogSink} as soon as they are logged. All messages are
+ * retained as well (error messages are limited by the maximum number of lines of the {@link FilteredLog}), so that
+ * callers can store them or check if errors have been reported. The number of streamed messages is recorded, so that a
+ * {@link LogHandler} can skip these messages when it logs the messages of this log.
+ *
+ * <p>
+ * The sink is not serialized: when this log is transferred from an agent to the controller, subsequent messages are
+ * stored like in a plain {@link FilteredLog}.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+@SuppressFBWarnings(value = "EQ_DOESNT_OVERRIDE_EQUALS",
+        justification = "The sink and the statistics are not part of the state")
+public class StreamingLog extends FilteredLog {
+    @Serial
+    private static final long serialVersionUID = -1460573931693925318L;
+
+    @CheckForNull
+    private final transient LogSink sink;
+    private int streamedInfoLines;
+    private int streamedErrorLines;
+    private int titleLines;
+
+    /**
+     * Creates a new {@link StreamingLog}.
+     *
+     * @param title
+     *         the title of the error messages
+     * @param sink
+     *         the sink to forward the messages to
+     */
+    public StreamingLog(final String title, final LogSink sink) {
+        super(title);
+
+        this.sink = sink;
+    }
+
+    @Override
+    public synchronized void logInfo(final String message) {
+        super.logInfo(message);
+
+        if (sink != null) {
+            sink.logInfo(message);
+            streamedInfoLines++;
+        }
+    }
+
+    @Override
+    @FormatMethod
+    public void logInfo(final String format, final Object... args) {
+        logInfo(format.formatted(args));
+    }
+
+    @Override
+    public synchronized void logError(final String message) {
+        if (sink != null) {
+            sink.logError(message);
+        }
+        appendError(message);
+    }
+
+    private void appendError(final String message) {
+        super.logError(message);
+
+        if (sink != null) {
+            if (streamedErrorLines == 0) { // the first error message is preceded by the title (if there is one)
+                titleLines = getErrorMessages().size() - 1;
+            }
+            streamedErrorLines++;
+        }
+    }
+
+    @Override
+    @FormatMethod
+    public void logError(final String format, final Object... args) {
+        logError(format.formatted(args));
+    }
+
+    /**
+     * Appends all messages of the specified log to this log without forwarding them to the sink again. The specified
+     * log must have forwarded its messages to the same sink already, e.g., a {@link StreamingLog} that has been used by
+     * a worker thread. The appended messages are counted as streamed messages. The error messages are appended
+     * including the title of the specified log.
+     *
+     * @param streamedLog
+     *         the log with the messages that have been streamed already
+     */
+    synchronized void appendStreamed(final FilteredLog streamedLog) {
+        for (String message : streamedLog.getInfoMessages()) {
+            super.logInfo(message);
+            if (sink != null) {
+                streamedInfoLines++;
+            }
+        }
+        for (String message : streamedLog.getErrorMessages()) {
+            appendError(message);
+        }
+    }
+
+    /**
+     * Returns the number of leading info messages of {@link #getInfoMessages()} that have been streamed to the sink.
+     *
+     * @return the number of streamed info messages
+     */
+    public synchronized int getStreamedInfoCount() {
+        return Math.min(streamedInfoLines, getInfoMessages().size());
+    }
+
+    /**
+     * Returns the number of leading error messages of {@link #getErrorMessages()} that have been streamed to the sink.
+     * The title of the error messages is part of this count, since it must not be printed for streamed errors.
+     *
+     * @return the number of streamed error messages
+     */
+    public synchronized int getStreamedErrorCount() {
+        return Math.min(titleLines + streamedErrorLines, getErrorMessages().size());
+    }
+}
@@ -0,0 +1,101 @@
+package io.jenkins.plugins.util;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Rolling statistics of several metrics of a job. The statistics are updated once for each build, so that trend quality
+ * gates can be evaluated in constant time without loading the results of the previous builds.
+ *
+ * @author Ullrich Hafner
+ * @see TrendStatisticsStore
+ */
+public class TrendStatistics implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -2847115623486294031L;
+
+    /** The default number of builds that are taken into account for each metric. */
+    public static final int DEFAULT_WINDOW_SIZE = 20;
+
+    private final int windowSize;
+    private int lastBuildNumber;
+    @SuppressWarnings("PMD.LooseCoupling")
+    private final TreeMap<String, RollingStatistics> metrics = new TreeMap<>();
+
+    /**
+     * Creates a new instance of {@link TrendStatistics} that uses a window of {@link #DEFAULT_WINDOW_SIZE} builds.
+     */
+    public TrendStatistics() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates a new instance of {@link TrendStatistics}.
+     *
+     * @param windowSize
+     *         the number of builds that are taken into account for each metric
+     */
+    public TrendStatistics(final int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Adds the metric values of the specified build to the statistics. Each build is recorded only once: if the
+     * statistics already contain the values of the specified build (or of a newer build), then the values are
+     * ignored.
+     *
+     * @param buildNumber
+     *         the number of the build that produced the values
+     * @param values
+     *         the values of the build, mapped by the name of the metric
+     *
+     * @return {@code true} if the statistics have been updated, {@code false} if the build has been recorded already
+     */
+    public boolean update(final int buildNumber, final Map<String, ? extends Number> values) {
+        if (buildNumber <= lastBuildNumber) {
+            return false;
+        }
+
+        values.forEach((metric, value) -> metrics.computeIfAbsent(metric, key -> new RollingStatistics(windowSize))
+                .add(value.doubleValue()));
+        lastBuildNumber = buildNumber;
+
+        return true;
+    }
+
+    /**
+     * Returns the statistics of the specified metric.
+     *
+     * @param metric
+     *         the name of the metric
+     *
+     * @return the statistics of the metric, or an empty result if the metric has not been recorded yet
+     */
+    public Optional<RollingStatistics> getStatistics(final String metric) {
+        return Optional.ofNullable(metrics.get(metric));
+    }
+
+    public Set<String> getMetrics() {
+        return metrics.keySet();
+    }
+
+    public int getLastBuildNumber() {
+        return lastBuildNumber;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    @Override
+    public String toString() {
+        return "Build #%d: %s".formatted(lastBuildNumber, metrics);
+    }
+}
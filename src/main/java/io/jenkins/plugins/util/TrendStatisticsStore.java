@@ -0,0 +1,132 @@
+package io.jenkins.plugins.util;
+
+import edu.hm.hafner.util.VisibleForTesting;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import hudson.model.Job;
+import hudson.model.Run;
+
+/**
+ * Reads and writes the {@link TrendStatistics} of a job. The statistics are stored as an XML file in the root folder of
+ * the job. Each consumer uses its own file, identified by the ID of the consumer.
+ *
+ * @author Ullrich Hafner
+ */
+public class TrendStatisticsStore extends AbstractXmlStream<TrendStatistics> {
+    /** The number of locks that are used to serialize the updates of the statistics files. */
+    private static final int LOCK_COUNT = 64;
+    private static final Object[] LOCKS = createLocks();
+
+    private final String id;
+    private final int windowSize;
+
+    /**
+     * Creates a new instance of {@link TrendStatisticsStore} that uses a window of
+     * {@link TrendStatistics#DEFAULT_WINDOW_SIZE} builds.
+     *
+     * @param id
+     *         the ID of the consumer, used as prefix of the file name
+     */
+    public TrendStatisticsStore(final String id) {
+        this(id, TrendStatistics.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates a new instance of {@link TrendStatisticsStore}.
+     *
+     * @param id
+     *         the ID of the consumer, used as prefix of the file name
+     * @param windowSize
+     *         the number of builds that are taken into account for each metric
+     */
+    public TrendStatisticsStore(final String id, final int windowSize) {
+        super(TrendStatistics.class);
+
+        this.id = id;
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    protected TrendStatistics createDefaultValue() {
+        return new TrendStatistics(windowSize);
+    }
+
+    /**
+     * Returns the trend statistics of the specified job. If the statistics are used to evaluate the quality gates of a
+     * build, then they need to be loaded before the values of this build are recorded by
+     * {@link #update(Run, Map)}.
+     *
+     * @param job
+     *         the job to get the statistics for
+     *
+     * @return the statistics, or empty statistics if no build has been recorded yet
+     */
+    public TrendStatistics load(final Job<?, ?> job) {
+        return load(job.getRootDir().toPath());
+    }
+
+    /**
+     * Adds the metric values of the specified build to the trend statistics of its job. This method should be called
+     * once when the build result has been created: subsequent calls for the same build will be ignored. Trend quality
+     * gates of the build must be evaluated before calling this method, otherwise the values of the build would be part
+     * of the statistics it is compared with, see {@link QualityGateEvaluator#setTrendStatistics(TrendStatistics)}.
+     *
+     * @param build
+     *         the build that produced the values
+     * @param values
+     *         the values of the build, mapped by the name of the metric
+     *
+     * @return the updated statistics
+     */
+    public TrendStatistics update(final Run<?, ?> build, final Map<String, ? extends Number> values) {
+        return update(build.getParent().getRootDir().toPath(), build.getNumber(), values);
+    }
+
+    TrendStatistics load(final Path jobFolder) {
+        var file = getFile(jobFolder);
+        if (Files.isRegularFile(file)) {
+            return read(file);
+        }
+        return createDefaultValue();
+    }
+
+    TrendStatistics update(final Path jobFolder, final int buildNumber, final Map<String, ? extends Number> values) {
+        synchronized (getLock(getFile(jobFolder))) {
+            var statistics = load(jobFolder);
+            if (statistics.update(buildNumber, values)) {
+                write(getFile(jobFolder), statistics);
+            }
+            return statistics;
+        }
+    }
+
+    /**
+     * Returns the lock for the specified statistics file. Updates of the same file are serialized, even if they are
+     * performed by different store instances. Updates of different jobs typically use different locks, so they can run
+     * concurrently.
+     *
+     * @param file
+     *         the statistics file
+     *
+     * @return the lock for the file
+     */
+    @VisibleForTesting
+    static Object getLock(final Path file) {
+        return LOCKS[Math.floorMod(file.toAbsolutePath().normalize().hashCode(), LOCK_COUNT)];
+    }
+
+    private static Object[] createLocks() {
+        var locks = new Object[LOCK_COUNT];
+        for (int i = 0; i < LOCK_COUNT; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    private Path getFile(final Path jobFolder) {
+        return jobFolder.resolve(id + "-trend-statistics.xml");
+    }
+}
@@ -0,0 +1,169 @@
+package io.jenkins.plugins.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import hudson.EnvVars;
+
+/**
+ * The graph of references between environment variables. Only the variables that are reachable from a given set of
+ * values are analyzed. The analysis detects all referenced variables that are not defined in the environment and all
+ * variables that are part of a cycle in the reachable part of the graph.
+ *
+ * <p>
+ * The cyclic variables are determined by computing the strongly connected components of the graph (using the
+ * algorithm of Tarjan): a variable is cyclic if its component contains more than one variable or if the variable
+ * references itself. So a variable is marked as cyclic even if the depth-first search reaches its cycle only by a
+ * reference to a variable that has been visited already. The reported cycles are the cycles that are closed by the
+ * depth-first search. Each group of cyclic variables is reported by at least one of these cycles, but not all
+ * elementary cycles are reported, since the number of elementary cycles can grow exponentially.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+class VariableGraph {
+    private final EnvVars environment;
+    private final Map<String, Integer> indexes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, Integer> lowLinks = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Deque<String> components = new ArrayDeque<>();
+    private final Set<String> isOnComponentStack = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    private final Deque<String> path = new ArrayDeque<>();
+    private final Set<String> isOnPath = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    private final List<List<String>> cycles = new ArrayList<>();
+    private final Set<String> cyclicVariables = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    private final Set<String> undefinedVariables = new LinkedHashSet<>();
+
+    /**
+     * Analyzes the variables that are referenced in the specified values.
+     *
+     * @param environment
+     *         the environment variables
+     * @param values
+     *         the values that reference the variables
+     *
+     * @return the analyzed graph
+     */
+    static VariableGraph analyze(final EnvVars environment, final Collection<String> values) {
+        var graph = new VariableGraph(environment);
+        for (String value : values) {
+            for (String name : CompiledEnvironmentResolver.compile(value).getVariables()) {
+                if (!graph.indexes.containsKey(name)) {
+                    graph.visit(name);
+                }
+            }
+        }
+        return graph;
+    }
+
+    private VariableGraph(final EnvVars environment) {
+        this.environment = environment;
+    }
+
+    private void visit(final String name) {
+        var index = indexes.size();
+        indexes.put(name, index);
+
+        var value = environment.get(name);
+        if (value == null) {
+            undefinedVariables.add(name);
+            return;
+        }
+
+        lowLinks.put(name, index);
+        components.push(name);
+        isOnComponentStack.add(name);
+        path.addLast(name);
+        isOnPath.add(name);
+        for (String reference : EnvironmentTemplate.compile(value).getVariables()) { // values are not cached
+            if (!indexes.containsKey(reference)) {
+                visit(reference);
+                if (isOnComponentStack.contains(reference)) {
+                    lowLinks.put(name, Math.min(lowLinks.get(name), lowLinks.get(reference)));
+                }
+            }
+            else if (isOnComponentStack.contains(reference)) {
+                if (isOnPath.contains(reference)) {
+                    recordCycle(reference);
+                }
+                lowLinks.put(name, Math.min(lowLinks.get(name), indexes.get(reference)));
+            }
+        }
+        path.removeLast();
+        isOnPath.remove(name);
+
+        if (lowLinks.get(name).equals(indexes.get(name))) {
+            recordComponent(name);
+        }
+    }
+
+    private void recordCycle(final String name) {
+        List<String> cycle = new ArrayList<>();
+        boolean isOnCycle = false;
+        for (String element : path) {
+            if (element.equalsIgnoreCase(name)) {
+                isOnCycle = true;
+            }
+            if (isOnCycle) {
+                cycle.add(element);
+            }
+        }
+        cyclicVariables.addAll(cycle); // required for self references that form a component of a single variable
+        cycle.add(name);
+        cycles.add(cycle);
+    }
+
+    private void recordComponent(final String root) {
+        List<String> component = new ArrayList<>();
+        String member;
+        do {
+            member = components.pop();
+            isOnComponentStack.remove(member);
+            component.add(member);
+        }
+        while (!member.equalsIgnoreCase(root));
+
+        if (component.size() > 1) {
+            cyclicVariables.addAll(component);
+        }
+    }
+
+    /**
+     * Returns the detected cycles. Each cycle is represented by the list of variables on the cycle, where the first
+     * variable is repeated at the end. Every cyclic variable is part of a group of variables that is reported by at
+     * least one of these cycles, see {@link #isCyclic(String)}.
+     *
+     * @return the detected cycles
+     */
+    List<List<String>> getCycles() {
+        return cycles;
+    }
+
+    /**
+     * Returns whether the specified variable is part of a cycle.
+     *
+     * @param name
+     *         the name of the variable
+     *
+     * @return {@code true} if the variable is part of a cycle, {@code false} otherwise
+     */
+    boolean isCyclic(final String name) {
+        return cyclicVariables.contains(name);
+    }
+
+    /**
+     * Returns the referenced variables that are not defined in the environment.
+     *
+     * @return the undefined variables
+     */
+    Set<String> getUndefinedVariables() {
+        return undefinedVariables;
+    }
+}
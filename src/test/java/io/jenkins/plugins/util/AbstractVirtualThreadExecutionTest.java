@@ -0,0 +1,201 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link AbstractVirtualThreadExecution}.
+ *
+ * @author Ullrich Hafner
+ */
+class AbstractVirtualThreadExecutionTest {
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+    @Test
+    void shouldReportResultOfStep() {
+        var context = mock(StepContext.class);
+        var execution = new TestExecution(context, () -> "result");
+
+        assertThat(execution.start()).isFalse();
+
+        verify(context, timeout(TIMEOUT)).onSuccess("result");
+        verify(context, never()).onFailure(any());
+    }
+
+    @Test
+    void shouldReportFailureOfStep() {
+        var context = mock(StepContext.class);
+        var failure = new IOException("Step failed");
+        var execution = new TestExecution(context, () -> {
+            throw failure;
+        });
+
+        execution.start();
+
+        verify(context, timeout(TIMEOUT)).onFailure(failure);
+        verify(context, never()).onSuccess(any());
+    }
+
+    @Test
+    void shouldStopRunningStep() throws Exception {
+        var context = mock(StepContext.class);
+        var started = new CountDownLatch(1);
+        var execution = new TestExecution(context, () -> {
+            started.countDown();
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            return "never";
+        });
+
+        execution.start();
+        assertThat(started.await(TIMEOUT, TimeUnit.MILLISECONDS)).isTrue();
+        assertThat(execution.getStatus()).startsWith("running in thread: ");
+
+        var cause = new InterruptedException("Aborted");
+        execution.stop(cause);
+
+        verify(context, timeout(TIMEOUT)).onFailure(cause);
+        verify(context, never()).onSuccess(any());
+    }
+
+    @Test
+    void shouldFailOnResume() {
+        var context = mock(StepContext.class);
+        var execution = new TestExecution(context, () -> "result");
+
+        assertThat(execution.getStatus()).isEqualTo("not running");
+
+        execution.onResume();
+
+        verify(context).onFailure(any(IOException.class));
+    }
+
+    @Test
+    void shouldCreateExecutor() throws Exception {
+        var executor = AbstractVirtualThreadExecution.createExecutor(Runtime.version().feature());
+        try {
+            assertThat(executor.submit(() -> "done").get(TIMEOUT, TimeUnit.MILLISECONDS)).isEqualTo("done");
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldUsePlatformThreadsBeforeJava24() throws Exception {
+        var executor = AbstractVirtualThreadExecution.createExecutor(
+                AbstractVirtualThreadExecution.VIRTUAL_THREADS_MIN_VERSION - 1);
+        try {
+            assertThat(executor.submit(() -> Thread.currentThread().getName()).get(TIMEOUT, TimeUnit.MILLISECONDS))
+                    .startsWith("AbstractVirtualThreadExecution");
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldQueueTasksWithoutOccupyingThreads() throws Exception {
+        var pool = (ThreadPoolExecutor) Executors.newCachedThreadPool();
+        try {
+            var executor = new AbstractVirtualThreadExecution.ThrottledExecutor(pool, 1);
+            var started = new CountDownLatch(1);
+            var release = new CountDownLatch(1);
+
+            var first = executor.submit(() -> {
+                started.countDown();
+                await(release);
+            });
+            assertThat(started.await(TIMEOUT, TimeUnit.MILLISECONDS)).isTrue();
+
+            var second = executor.submit(() -> { });
+            var third = executor.submit(() -> { });
+
+            assertThat(executor.getWaitingCount()).isEqualTo(2);
+            assertThat(pool.getPoolSize()).isOne();
+            assertThat(second).isNotDone();
+
+            release.countDown();
+
+            first.get(TIMEOUT, TimeUnit.MILLISECONDS);
+            second.get(TIMEOUT, TimeUnit.MILLISECONDS);
+            third.get(TIMEOUT, TimeUnit.MILLISECONDS);
+            assertThat(executor.getWaitingCount()).isZero();
+        }
+        finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldSkipCanceledTasksInQueue() throws Exception {
+        var pool = Executors.newCachedThreadPool();
+        try {
+            var executor = new AbstractVirtualThreadExecution.ThrottledExecutor(pool, 1);
+            var release = new CountDownLatch(1);
+
+            var first = executor.submit(() -> await(release));
+            var canceled = new CountDownLatch(1);
+            var second = executor.submit(canceled::countDown);
+            assertThat(second.cancel(true)).isTrue();
+            var third = executor.submit(() -> { });
+
+            release.countDown();
+
+            first.get(TIMEOUT, TimeUnit.MILLISECONDS);
+            third.get(TIMEOUT, TimeUnit.MILLISECONDS);
+            assertThat(canceled.getCount()).isOne();
+            assertThat(executor.getWaitingCount()).isZero();
+        }
+        finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            assertThat(latch.await(TIMEOUT, TimeUnit.MILLISECONDS)).isTrue();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A step body that might throw an exception.
+     */
+    @FunctionalInterface
+    private interface Body {
+        String run() throws Exception;
+    }
+
+    private static class TestExecution extends AbstractVirtualThreadExecution<String> {
+        @Serial
+        private static final long serialVersionUID = -4170596337766373337L;
+
+        @SuppressWarnings({"serial", "PMD.SingularField"})
+        private final transient Body body;
+
+        TestExecution(final StepContext context, final Body body) {
+            super(context);
+
+            this.body = body;
+        }
+
+        @Override
+        protected String run() throws Exception {
+            return body.run();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import hudson.FilePath;
+
+import io.jenkins.plugins.util.AgentFileVisitor.FileVisitorResult;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for the {@link AgentFileVisitor} that scan a workspace that has been created by the
+ * {@link WorkspaceGenerator} in the controller and on an agent.
+ *
+ * @author Ullrich Hafner
+ */
+class AgentFileVisitorITest extends IntegrationTestWithJenkinsPerSuite {
+    private static final WorkspaceGenerator GENERATOR = new WorkspaceGenerator()
+            .withDepth(2).withFanOut(3).withFilesPerFolder(5).withFileSize(2048);
+
+    @TempDir
+    private Path workspace;
+
+    @Test
+    void shouldScanWorkspaceOnControllerAndAgent() throws IOException, InterruptedException {
+        GENERATOR.generate(workspace);
+
+        FileVisitorResult<Integer> local = new FilePath(workspace.toFile()).act(new FileSizeVisitor());
+
+        var agent = createAgent("generated-workspace");
+        var agentRoot = agent.getRootPath();
+        assertThat(agentRoot).isNotNull();
+        var agentWorkspace = agentRoot.child("generated");
+        GENERATOR.generate(Path.of(agentWorkspace.getRemote()));
+
+        FileVisitorResult<Integer> remote = agentWorkspace.act(new FileSizeVisitor());
+
+        assertThat(local.getResults()).hasSize(GENERATOR.getFileCount()).containsOnly(2048);
+        assertThat(remote.getResults()).isEqualTo(local.getResults());
+        assertThat(remote.getLog().getErrorMessages()).isEmpty();
+        assertThat(remote.getLog().getInfoMessages()).contains("-> found 65 files");
+    }
+
+    @Test
+    void shouldScanWorkspaceThroughLocalChannelPair() throws IOException, InterruptedException {
+        GENERATOR.generate(workspace);
+
+        try (var channels = new LocalChannelPair()) {
+            FileVisitorResult<Integer> remote = channels.getRemotePath(workspace).act(new FileSizeVisitor());
+
+            assertThat(remote.getResults()).hasSize(GENERATOR.getFileCount());
+        }
+    }
+
+    /**
+     * Returns the size of each file.
+     */
+    static class FileSizeVisitor extends AgentFileVisitor<Integer> {
+        @Serial
+        private static final long serialVersionUID = 2862435437618513768L;
+
+        FileSizeVisitor() {
+            super(WorkspaceGenerator.INCLUDE_PATTERN, "UTF-8", false, true);
+        }
+
+        @Override
+        protected Optional<Integer> processFile(final Path file, final Charset charset, final FilteredLog log) {
+            try {
+                return Optional.of((int) Files.size(file));
+            }
+            catch (IOException exception) {
+                log.logException(exception, "Can't read file '%s'", file);
+                return Optional.empty();
+            }
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package io.jenkins.plugins.util;
 
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -12,11 +15,23 @@ import edu.hm.hafner.util.VisibleForTesting;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.Serial;
+import java.io.Serializable;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Optional;
-
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BinaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.jenkins.plugins.util.AgentFileVisitor.FileFinder;
 import io.jenkins.plugins.util.AgentFileVisitor.FileSystemFacade;
 import io.jenkins.plugins.util.AgentFileVisitor.FileVisitorResult;
 import io.jenkins.plugins.util.AgentFileVisitorTest.StringScanner;
@@ -31,6 +46,8 @@ import static org.mockito.Mockito.*;
  */
 class AgentFileVisitorTest extends SerializableTest<StringScanner> {
     private static final String CONTENT = "Hello World!";
+    private static final long TIMEOUT = 10;
+    private static final Set<String> COMBINING_THREADS = ConcurrentHashMap.newKeySet();
     private static final String PATTERN = "**/*.txt";
     private static final String ENCODING = "UTF-8";
 
@@ -166,6 +183,343 @@ class AgentFileVisitorTest extends SerializableTest<StringScanner> {
                 "No result created for file '/one.txt' due to some errors");
     }
 
+    @Test
+    @DisplayName("Should stream log messages to sink")
+    void shouldStreamLogMessages() {
+        var fileSystemFacade = createFileSystemFacade(false, "/one.txt", "empty.txt");
+
+        var empty = workspace.toPath().resolve("empty.txt");
+        when(fileSystemFacade.resolve(workspace, "empty.txt")).thenReturn(empty);
+        when(fileSystemFacade.isEmpty(empty)).thenReturn(true);
+
+        var sink = mock(SerializableLogSink.class);
+        var scanner = new StringScanner(PATTERN, ENCODING, false, true, fileSystemFacade);
+        scanner.setLogSink(sink);
+
+        FileVisitorResult<String> actualResult = scanner.invoke(workspace, null);
+        assertThat(actualResult.getResults()).containsExactly(CONTENT + 1);
+        assertThat(actualResult.getLog().getInfoMessages()).contains("-> found 2 files",
+                "Successfully processed file '/one.txt'");
+        assertThat(actualResult.getLog().getErrorMessages()).containsExactly("Errors during parsing",
+                "Skipping file 'empty.txt' because it's empty");
+        assertThat(actualResult.hasErrors()).isTrue();
+
+        var inOrder = inOrder(sink);
+        inOrder.verify(sink).logInfo("-> found 2 files");
+        inOrder.verify(sink).logInfo("Successfully processed file '/one.txt'");
+        inOrder.verify(sink).logError("Skipping file 'empty.txt' because it's empty");
+        inOrder.verify(sink).flush();
+    }
+
+    @Test
+    @DisplayName("Should scan generated workspace")
+    void shouldScanGeneratedWorkspace() throws IOException {
+        var generator = new WorkspaceGenerator().withDepth(2).withFanOut(2).withFilesPerFolder(3).withFileSize(100);
+        generator.generate(workspace.toPath());
+
+        assertThat(generator.getFileCount()).isEqualTo(21);
+
+        var scanner = new StringScanner(PATTERN, ENCODING, false, true, new FileSystemFacade());
+        FileVisitorResult<String> actualResult = scanner.invoke(workspace, null);
+
+        assertThat(actualResult.getResults()).hasSize(generator.getFileCount());
+        assertThat(actualResult.hasErrors()).isFalse();
+        assertThat(actualResult.getLog().getInfoMessages()).contains("-> found 21 files");
+    }
+
+    @Test
+    @DisabledOnOs(value = OS.WINDOWS, disabledReason = "Creating symbolic links requires special privileges")
+    @DisplayName("Should skip excluded trees and symbolic link loops of generated workspace")
+    void shouldSkipExcludedTreesOfGeneratedWorkspace() throws IOException {
+        var generator = new WorkspaceGenerator().withDepth(1).withFanOut(3).withFilesPerFolder(2)
+                .withExcludedTree("node_modules").withExcludedTree("target")
+                .withSymbolicLinkLoops(true);
+        generator.generate(workspace.toPath());
+
+        assertThat(generator.getFileCount()).isEqualTo(8);
+        assertThat(generator.getExcludedFileCount()).isEqualTo(16);
+        assertThat(generator.getExcludePattern()).isEqualTo("node_modules/**,target/**");
+
+        assertThat(new FileFinder(PATTERN, generator.getExcludePattern()).find(workspace))
+                .hasSize(generator.getFileCount());
+        assertThat(new FileFinder(PATTERN, "").find(workspace))
+                .hasSize(generator.getFileCount() + generator.getExcludedFileCount());
+    }
+
+    @Test
+    @DisplayName("Should report the serialized size of the results")
+    void shouldReportPayloadSize() {
+        var scanner = new StringScanner(PATTERN, ENCODING, false, true,
+                createFileSystemFacade(false, "/one.txt", "/two.txt"));
+        scanner.setPayloadSizeReported(true);
+
+        FileVisitorResult<String> actualResult = scanner.invoke(workspace, null);
+
+        assertThat(actualResult.getResults()).hasSize(2);
+        assertThat(actualResult.getLog().getInfoMessages()).last().asString()
+                .matches("-> serialized size of 2 results: \\d+ bytes \\(serialized in \\d+ ms\\)");
+    }
+
+    @Test
+    @DisplayName("Should compress large results")
+    void shouldCompressResults() throws IOException, ClassNotFoundException {
+        var scanner = new StringScanner(PATTERN, ENCODING, false, true,
+                createFileSystemFacade(false, "/one.txt", "/two.txt"));
+        scanner.setCompressionThreshold(1);
+
+        FileVisitorResult<String> actualResult = scanner.invoke(workspace, null);
+
+        assertThat(actualResult.getResults()).containsExactly(CONTENT + 1, CONTENT + 2);
+        assertThat(actualResult.getLog().getInfoMessages()).last().asString()
+                .startsWith("-> compressed results from");
+
+        var restored = CompressedPayloadTest.roundTrip(actualResult);
+        assertThat(restored.getResults()).containsExactly(CONTENT + 1, CONTENT + 2);
+        assertThat(restored.getLog().getInfoMessages()).isEqualTo(actualResult.getLog().getInfoMessages());
+    }
+
+    @Test
+    @DisplayName("Should deduplicate strings of uncompressed results")
+    void shouldDeduplicateUncompressedResults() throws IOException, ClassNotFoundException {
+        var values = CompressedPayloadTest.createValue(1_000);
+        var result = new FileVisitorResult<>(new FilteredLog("Errors"), values, Integer.MAX_VALUE,
+                StringScanner.class);
+
+        var restored = CompressedPayloadTest.roundTrip(result);
+
+        assertThat(restored.getResults()).isEqualTo(values);
+        assertThat(restored.getResults().get(100)).isSameAs(restored.getResults().get(0));
+        assertThat(restored.getLog().getInfoMessages()).singleElement().asString()
+                .startsWith("-> deduplicated 900 strings (100 distinct)");
+    }
+
+    @Test
+    @DisplayName("Should transfer the results as is if compression is disabled")
+    void shouldNotDeduplicateResultsByDefault() throws IOException, ClassNotFoundException {
+        var values = CompressedPayloadTest.createValue(1_000);
+        var result = new FileVisitorResult<>(new FilteredLog("Errors"), values);
+
+        var restored = CompressedPayloadTest.roundTrip(result);
+
+        assertThat(restored.getResults()).isEqualTo(values);
+        assertThat(restored.getResults().get(100)).isNotSameAs(restored.getResults().get(0));
+        assertThat(restored.getLog().getInfoMessages()).isEmpty();
+    }
+
+    @ParameterizedTest(name = "{index} => Combine {0} results")
+    @CsvSource({"2", "63", "64", "500"})
+    @DisplayName("Should combine the results on the agent")
+    void shouldCombineResults(final int count) {
+        var files = IntStream.rangeClosed(1, count).mapToObj(i -> "/" + i + ".txt").toArray(String[]::new);
+        var scanner = new CombiningScanner(createFileSystemFacade(false, files));
+
+        FileVisitorResult<String> actualResult = scanner.invoke(workspace, null);
+
+        var expected = IntStream.rangeClosed(1, count).mapToObj(i -> CONTENT + i).collect(Collectors.joining(","));
+        assertThat(actualResult.getResults()).containsExactly(expected);
+        assertThat(actualResult.getLog().getInfoMessages()).last().asString()
+                .startsWith("-> combined %d results into a single result".formatted(count));
+        assertThat(actualResult.hasErrors()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not combine large lists of results in the common pool")
+    void shouldNotCombineResultsInCommonPool() {
+        var files = IntStream.rangeClosed(1, 500).mapToObj(i -> "/" + i + ".txt").toArray(String[]::new);
+        COMBINING_THREADS.clear();
+
+        new CombiningScanner(createFileSystemFacade(false, files)).invoke(workspace, null);
+
+        assertThat(COMBINING_THREADS).isNotEmpty().noneMatch(name -> name.startsWith("ForkJoinPool.commonPool"));
+    }
+
+    @ParameterizedTest(name = "{index} => Combine {0} results")
+    @CsvSource({"2", "500"})
+    @DisplayName("Should report a combiner that returns null")
+    void shouldReportNullCombination(final int count) {
+        var files = IntStream.rangeClosed(1, count).mapToObj(i -> "/" + i + ".txt").toArray(String[]::new);
+        var scanner = new NullCombiningScanner(createFileSystemFacade(false, files));
+
+        assertThatNullPointerException().isThrownBy(() -> scanner.invoke(workspace, null))
+                .satisfies(exception -> assertThat(ExceptionUtils.getRootCause(exception)).hasMessage(
+                        "The combiner of " + NullCombiningScanner.class.getName() + " returned null"));
+    }
+
+    @Test
+    @DisplayName("Should not combine a single result")
+    void shouldNotCombineSingleResult() {
+        var scanner = new CombiningScanner(createFileSystemFacade(false, "/one.txt"));
+
+        FileVisitorResult<String> actualResult = scanner.invoke(workspace, null);
+
+        assertThat(actualResult.getResults()).containsExactly(CONTENT + 1);
+        assertThat(actualResult.getLog().getInfoMessages()).noneMatch(message -> message.startsWith("-> combined"));
+    }
+
+    @Test
+    @DisplayName("Should skip all files if the scanning thread has been interrupted")
+    void shouldStopScanningIfInterrupted() {
+        var scanner = new StringScanner(PATTERN, ENCODING, false, true,
+                createFileSystemFacade(false, "/one.txt", "/two.txt"));
+
+        Thread.currentThread().interrupt();
+        try {
+            FileVisitorResult<String> actualResult = scanner.invoke(workspace, null);
+
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+            assertThat(actualResult.getResults()).isEmpty();
+            assertThat(actualResult.isComplete()).isFalse();
+            assertThat(actualResult.getSkippedFiles()).containsExactly("/one.txt", "/two.txt");
+            assertThat(actualResult.getLog().getErrorMessages()).contains(
+                    "Skipping 2 remaining files because the scanning has been interrupted");
+        }
+        finally {
+            assertThat(Thread.interrupted()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip files that exceed the timeout for a single file")
+    void shouldSkipFilesThatExceedTheFileTimeout() throws IOException, ClassNotFoundException, InterruptedException {
+        var scanner = new SlowScanner(createFileSystemFacade(false, "/one.txt", "/two.txt", "/three.txt"), 2);
+        scanner.setFileTimeout(Duration.ofMillis(200));
+
+        FileVisitorResult<String> actualResult = scanner.invoke(workspace, null);
+
+        assertThat(actualResult.getResults()).containsExactly(CONTENT + 1, CONTENT + 3);
+        assertThat(actualResult.isComplete()).isFalse();
+        assertThat(actualResult.getSkippedFiles()).containsExactly("/two.txt");
+        assertThat(actualResult.getLog().getErrorMessages()).contains(
+                "Skipping file '/two.txt' because the processing exceeded the timeout of 200 ms");
+        assertThat(scanner.isInterrupted()).isTrue();
+
+        var restored = CompressedPayloadTest.roundTrip(actualResult);
+        assertThat(restored.getSkippedFiles()).containsExactly("/two.txt");
+        assertThat(restored.isComplete()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should skip the remaining files if the total timeout has been exceeded")
+    void shouldSkipRemainingFilesIfTotalTimeoutIsExceeded() throws InterruptedException {
+        var files = IntStream.rangeClosed(1, 5).mapToObj(i -> "/" + i + ".txt").toArray(String[]::new);
+        var scanner = new SlowScanner(createFileSystemFacade(false, files), 1);
+        scanner.setTotalTimeout(Duration.ofMillis(300));
+
+        FileVisitorResult<String> actualResult = scanner.invoke(workspace, null);
+
+        assertThat(actualResult.getResults()).isEmpty();
+        assertThat(actualResult.isComplete()).isFalse();
+        assertThat(actualResult.getSkippedFiles()).containsExactly(files);
+        assertThat(actualResult.getLog().getErrorMessages()).contains(
+                "Skipping 4 remaining files because the total timeout of 300 ms has been exceeded");
+        assertThat(scanner.isInterrupted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should ignore messages of a worker that finishes after the timeout")
+    void shouldIgnoreLogOfWorkerThatFinishesAfterTimeout() throws InterruptedException {
+        var scanner = new StubbornScanner(createFileSystemFacade(false, "/one.txt"));
+        scanner.setFileTimeout(Duration.ofMillis(100));
+
+        FileVisitorResult<String> actualResult = scanner.invoke(workspace, null);
+
+        assertThat(actualResult.getResults()).isEmpty();
+        assertThat(actualResult.getSkippedFiles()).containsExactly("/one.txt");
+
+        scanner.release();
+        assertThat(scanner.isFinished()).isTrue();
+
+        assertThat(actualResult.getLog().getInfoMessages()).doesNotContain(StubbornScanner.LATE_MESSAGE);
+        assertThat(actualResult.getLog().getErrorMessages()).doesNotContain(StubbornScanner.LATE_MESSAGE);
+    }
+
+    @Test
+    @DisplayName("Should merge the messages of workers that finish in time")
+    void shouldMergeLogOfWorkerThatFinishesInTime() {
+        var scanner = new StubbornScanner(createFileSystemFacade(false, "/one.txt"));
+        scanner.release();
+        scanner.setFileTimeout(Duration.ofMinutes(1));
+
+        FileVisitorResult<String> actualResult = scanner.invoke(workspace, null);
+
+        assertThat(actualResult.getResults()).containsExactly(CONTENT);
+        assertThat(actualResult.getLog().getInfoMessages()).contains(StubbornScanner.LATE_MESSAGE);
+        assertThat(actualResult.getLog().getErrorMessages()).containsSequence(
+                "Errors while processing file '/one.txt':", StubbornScanner.LATE_MESSAGE)
+                .containsOnlyOnce("Errors during parsing");
+    }
+
+    @Test
+    @DisplayName("Should forward the messages of workers to the sink as soon as they are logged")
+    void shouldStreamLogOfWorkerOnlyOnce() {
+        var scanner = new StubbornScanner(createFileSystemFacade(false, "/one.txt"));
+        scanner.release();
+        scanner.setFileTimeout(Duration.ofMinutes(1));
+        var sink = mock(SerializableLogSink.class);
+        scanner.setLogSink(sink);
+
+        FileVisitorResult<String> actualResult = scanner.invoke(workspace, null);
+
+        assertThat(actualResult.getLog().getInfoMessages()).containsOnlyOnce(StubbornScanner.LATE_MESSAGE);
+        assertThat(actualResult.getLog().getErrorMessages()).containsOnlyOnce(StubbornScanner.LATE_MESSAGE);
+
+        var inOrder = inOrder(sink);
+        inOrder.verify(sink).logInfo(StubbornScanner.EARLY_MESSAGE);
+        inOrder.verify(sink).logInfo(StubbornScanner.LATE_MESSAGE);
+        inOrder.verify(sink).logError(StubbornScanner.LATE_MESSAGE);
+        inOrder.verify(sink).logInfo("Successfully processed file '/one.txt'");
+        inOrder.verify(sink).flush();
+        verify(sink).logInfo(StubbornScanner.LATE_MESSAGE);
+        verify(sink).logError(StubbornScanner.LATE_MESSAGE);
+    }
+
+    @Test
+    @DisplayName("Should forward the messages of a worker to the sink until the file is skipped")
+    void shouldStopStreamingLogOfWorkerAfterTimeout() throws InterruptedException {
+        var scanner = new StubbornScanner(createFileSystemFacade(false, "/one.txt"));
+        scanner.setFileTimeout(Duration.ofMillis(500));
+        var sink = mock(SerializableLogSink.class);
+        scanner.setLogSink(sink);
+
+        FileVisitorResult<String> actualResult = scanner.invoke(workspace, null);
+
+        assertThat(actualResult.getSkippedFiles()).containsExactly("/one.txt");
+        verify(sink).logInfo(StubbornScanner.EARLY_MESSAGE);
+
+        scanner.release();
+        assertThat(scanner.isFinished()).isTrue();
+
+        verify(sink, never()).logInfo(StubbornScanner.LATE_MESSAGE);
+        verify(sink, never()).logError(StubbornScanner.LATE_MESSAGE);
+    }
+
+    @Test
+    @DisplayName("Should process all files if no timeout has been exceeded")
+    void shouldCompleteWithinTimeouts() {
+        var scanner = new StringScanner(PATTERN, ENCODING, false, true,
+                createFileSystemFacade(false, "/one.txt", "/two.txt"));
+        scanner.setFileTimeout(Duration.ofMinutes(1));
+        scanner.setTotalTimeout(Duration.ofMinutes(5));
+
+        FileVisitorResult<String> actualResult = scanner.invoke(workspace, null);
+
+        assertThat(actualResult.getResults()).containsExactly(CONTENT + 1, CONTENT + 2);
+        assertThat(actualResult.isComplete()).isTrue();
+        assertThat(actualResult.getSkippedFiles()).isEmpty();
+        assertThat(actualResult.hasErrors()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should generate the same workspace for the same seed")
+    void shouldGenerateDeterministicWorkspace(@TempDir final Path other) throws IOException {
+        var generator = new WorkspaceGenerator().withDepth(1).withFanOut(2).withFilesPerFolder(2).withFileSize(500);
+        generator.generate(workspace.toPath());
+        generator.generate(other);
+
+        var file = Path.of("module-1", "report-1.txt");
+        assertThat(workspace.toPath().resolve(file)).hasSameTextualContentAs(other.resolve(file)).hasSize(500);
+    }
+
     private FileSystemFacade createFileSystemFacade(final boolean followLinks, final String... files) {
         FileSystemFacade fileSystem = mock(FileSystemFacade.class);
 
@@ -209,6 +563,135 @@ class AgentFileVisitorTest extends SerializableTest<StringScanner> {
         }
     }
 
+    /**
+     * A sink that can be transferred to an agent.
+     */
+    private interface SerializableLogSink extends LogSink, Serializable {
+    }
+
+    private static class CombiningScanner extends StringScanner {
+        @Serial
+        private static final long serialVersionUID = 1856453386290858357L;
+
+        CombiningScanner(final FileSystemFacade fileSystemFacade) {
+            super(PATTERN, ENCODING, false, true, fileSystemFacade);
+        }
+
+        @Override
+        protected Optional<BinaryOperator<String>> getCombiner() {
+            return Optional.of(this::combine);
+        }
+
+        String combine(final String first, final String second) {
+            COMBINING_THREADS.add(Thread.currentThread().getName());
+            return first + "," + second;
+        }
+    }
+
+    private static class NullCombiningScanner extends CombiningScanner {
+        @Serial
+        private static final long serialVersionUID = -5405632129405307127L;
+
+        NullCombiningScanner(final FileSystemFacade fileSystemFacade) {
+            super(fileSystemFacade);
+        }
+
+        @Override
+        String combine(final String first, final String second) {
+            return null;
+        }
+    }
+
+    /**
+     * A scanner that blocks while processing the file with the specified position until the thread is interrupted.
+     */
+    private static class SlowScanner extends AgentFileVisitor<String> {
+        @Serial
+        private static final long serialVersionUID = -3281745926364227548L;
+
+        private final int slowFile;
+        private final AtomicInteger counter = new AtomicInteger(1);
+        @SuppressWarnings("serial")
+        private final transient CountDownLatch interrupted = new CountDownLatch(1);
+        @SuppressWarnings("serial")
+        private final transient CountDownLatch blocked = new CountDownLatch(1);
+
+        SlowScanner(final FileSystemFacade fileSystemFacade, final int slowFile) {
+            super(PATTERN, ENCODING, false, true, fileSystemFacade);
+
+            this.slowFile = slowFile;
+        }
+
+        @Override
+        protected Optional<String> processFile(final Path file, final Charset charset, final FilteredLog log) {
+            var position = counter.getAndIncrement();
+            if (position == slowFile) {
+                try {
+                    blocked.await(); // never released, so the file can only be skipped by the timeout
+                }
+                catch (InterruptedException exception) {
+                    interrupted.countDown();
+                    return Optional.empty();
+                }
+            }
+            return Optional.of(CONTENT + position);
+        }
+
+        boolean isInterrupted() throws InterruptedException {
+            return interrupted.await(TIMEOUT, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * A scanner that ignores the interruption while processing the first file: it writes a message to its log, finishes
+     * the processing only after it has been released, and then writes to its log again.
+     */
+    private static class StubbornScanner extends AgentFileVisitor<String> {
+        @Serial
+        private static final long serialVersionUID = 2739004856236711380L;
+
+        static final String EARLY_MESSAGE = "Started processing";
+        static final String LATE_MESSAGE = "Finished after the timeout";
+
+        @SuppressWarnings("serial")
+        private final transient CountDownLatch released = new CountDownLatch(1);
+        @SuppressWarnings("serial")
+        private final transient CountDownLatch finished = new CountDownLatch(1);
+
+        StubbornScanner(final FileSystemFacade fileSystemFacade) {
+            super(PATTERN, ENCODING, false, true, fileSystemFacade);
+        }
+
+        @Override
+        protected Optional<String> processFile(final Path file, final Charset charset, final FilteredLog log) {
+            log.logInfo(EARLY_MESSAGE);
+            var isInterrupted = false;
+            while (released.getCount() > 0) {
+                try {
+                    released.await();
+                }
+                catch (InterruptedException exception) {
+                    isInterrupted = true;
+                }
+            }
+            log.logInfo(LATE_MESSAGE);
+            log.logError(LATE_MESSAGE);
+            finished.countDown();
+            if (isInterrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return Optional.of(CONTENT);
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        boolean isFinished() throws InterruptedException {
+            return finished.await(TIMEOUT, TimeUnit.SECONDS);
+        }
+    }
+
     private static class EmptyScanner extends AgentFileVisitor<String> {
         @Serial
         private static final long serialVersionUID = 3700448215163706213L;
@@ -0,0 +1,132 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link AsyncConsoleWriter}.
+ *
+ * @author Ullrich Hafner
+ */
+class AsyncConsoleWriterTest {
+    @Test
+    void shouldPreserveOrderOfTasks() {
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+
+        try (var writer = new AsyncConsoleWriter()) {
+            IntStream.range(0, 1000).forEach(i -> writer.submit(() -> written.add(i), 10));
+        }
+
+        assertThat(written).isEqualTo(IntStream.range(0, 1000).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    void shouldBlockIfCapacityIsExhausted() throws Exception {
+        var pending = new ConcurrentLinkedQueue<Runnable>();
+        var writer = new AsyncConsoleWriter(pending::add, 10);
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+
+        writer.submit(() -> written.add("first"), List.of("0123456789"));
+        assertThat(pending).hasSize(1);
+
+        var second = CompletableFuture.runAsync(() -> writer.submit(() -> written.add("second"), 5));
+        assertThatExceptionOfType(TimeoutException.class)
+                .isThrownBy(() -> second.get(100, TimeUnit.MILLISECONDS));
+
+        pending.poll().run(); // drains the first task and releases its capacity
+        second.get(10, TimeUnit.SECONDS);
+
+        while (!pending.isEmpty()) {
+            pending.poll().run();
+        }
+        assertThat(written).containsExactly("first", "second");
+    }
+
+    @Test
+    void shouldWriteSynchronouslyIfCapacityIsNotReleasedInTime() {
+        var pending = new ConcurrentLinkedQueue<Runnable>();
+        var writer = new AsyncConsoleWriter(pending::add, 10, 50);
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+
+        writer.submit(() -> written.add("first"), 10);
+        writer.submit(() -> written.add("second"), 5);
+
+        assertThat(written).containsExactly("second");
+
+        pending.poll().run();
+        assertThat(written).containsExactly("second", "first");
+    }
+
+    @Test
+    void shouldWriteSynchronouslyIfInterrupted() {
+        var pending = new ConcurrentLinkedQueue<Runnable>();
+        var writer = new AsyncConsoleWriter(pending::add, 10);
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+
+        writer.submit(() -> written.add("first"), 10);
+        Thread.currentThread().interrupt();
+        try {
+            writer.submit(() -> written.add("second"), 5);
+
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        }
+        finally {
+            Thread.interrupted(); // clear the flag for the next test
+        }
+        assertThat(written).containsExactly("second");
+    }
+
+    @Test
+    void shouldReleaseWaitingThreadsOnClose() throws Exception {
+        var pending = new ConcurrentLinkedQueue<Runnable>();
+        var writer = new AsyncConsoleWriter(pending::add, 10);
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+
+        writer.submit(() -> written.add("first"), 10);
+        var second = CompletableFuture.runAsync(() -> writer.submit(() -> written.add("second"), 5));
+        assertThatExceptionOfType(TimeoutException.class)
+                .isThrownBy(() -> second.get(100, TimeUnit.MILLISECONDS));
+
+        var close = CompletableFuture.runAsync(writer::close);
+        second.get(10, TimeUnit.SECONDS);
+        assertThat(written).containsExactly("second");
+
+        pending.poll().run(); // drains the first task and the flush marker of close
+        close.get(10, TimeUnit.SECONDS);
+        assertThat(written).containsExactly("second", "first");
+    }
+
+    @Test
+    void shouldAcceptMessagesLargerThanCapacity() {
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+
+        try (var writer = new AsyncConsoleWriter(2)) {
+            writer.submit(() -> written.add("large"), 1_000_000);
+            writer.submit(() -> written.add("small"), 1);
+        }
+
+        assertThat(written).containsExactly("large", "small");
+    }
+
+    @Test
+    void shouldWriteSynchronouslyAfterClose() {
+        List<String> written = new ArrayList<>();
+        var writer = new AsyncConsoleWriter();
+        writer.close();
+
+        writer.submit(() -> written.add("after"), 5);
+
+        assertThat(written).containsExactly("after");
+    }
+}
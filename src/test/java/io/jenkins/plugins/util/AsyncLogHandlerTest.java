@@ -0,0 +1,89 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import hudson.model.TaskListener;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link AsyncLogHandler}.
+ *
+ * @author Ullrich Hafner
+ */
+class AsyncLogHandlerTest {
+    private static final String NAME = "TestHandler";
+    private static final int MESSAGES = 1000;
+
+    @Test
+    void shouldWriteSameOutputAsSynchronousHandler() {
+        var logger = createLog();
+
+        var expected = new ByteArrayOutputStream();
+        var synchronous = new LogHandler(createTaskListener(expected), NAME);
+        synchronous.log("Start");
+        synchronous.log(logger);
+        synchronous.log("End");
+
+        var actual = new ByteArrayOutputStream();
+        try (var asynchronous = new AsyncLogHandler(createTaskListener(actual), NAME,
+                new AsyncConsoleWriter(2), 0, 0)) {
+            asynchronous.log("Start");
+            asynchronous.log(logger);
+            asynchronous.log("End");
+        }
+
+        assertThat(actual.toString(StandardCharsets.UTF_8)).isEqualTo(expected.toString(StandardCharsets.UTF_8))
+                .contains("[TestHandler] Info 999", "[TestHandler] [-ERROR-] Error 999");
+    }
+
+    @Test
+    void shouldSkipMessagesThatHaveBeenLoggedBefore() {
+        var logger = new FilteredLog("Title");
+        logger.logInfo("Not shown");
+
+        var output = new ByteArrayOutputStream();
+        try (var handler = new AsyncLogHandler(createTaskListener(output), NAME, logger)) {
+            logger.logInfo("Shown");
+            handler.log(logger);
+            handler.flush();
+
+            assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("[TestHandler] Shown%n".formatted());
+        }
+    }
+
+    @Test
+    void shouldWriteSynchronouslyAfterClose() {
+        var output = new ByteArrayOutputStream();
+        var handler = new AsyncLogHandler(createTaskListener(output), NAME);
+
+        handler.log("Before");
+        handler.close();
+        handler.log("After");
+
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "[TestHandler] Before%n[TestHandler] After%n".formatted());
+    }
+
+    private FilteredLog createLog() {
+        var logger = new FilteredLog("Title", MESSAGES + 1);
+        for (int i = 0; i < MESSAGES; i++) {
+            logger.logInfo("Info %d", i);
+            logger.logError("Error %d", i);
+        }
+        return logger;
+    }
+
+    private TaskListener createTaskListener(final ByteArrayOutputStream outputStream) {
+        TaskListener taskListener = mock(TaskListener.class);
+        when(taskListener.getLogger()).thenReturn(new PrintStream(outputStream, true, StandardCharsets.UTF_8));
+        return taskListener;
+    }
+}
@@ -0,0 +1,81 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+
+import org.jenkinsci.plugins.workflow.actions.WarningAction;
+import org.jenkinsci.plugins.workflow.graph.FlowNode;
+import hudson.model.Action;
+import hudson.model.Result;
+import hudson.model.Run;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link BatchingResultHandler}.
+ *
+ * @author Ullrich Hafner
+ */
+class BatchingResultHandlerTest {
+    private static final String FIRST = "first";
+    private static final String SECOND = "second";
+
+    @Test
+    void shouldNotTouchRunOrFlowNodeBeforeFlush() {
+        var run = mock(Run.class);
+        var flowNode = mock(FlowNode.class);
+
+        var handler = new BatchingResultHandler(run, flowNode);
+        handler.publishResult(QualityGateStatus.PASSED, FIRST);
+        handler.publishResult(QualityGateStatus.WARNING, FIRST);
+        handler.publishResult(QualityGateStatus.FAILED, SECOND);
+
+        verifyNoInteractions(run);
+        verifyNoInteractions(flowNode);
+
+        handler.flush();
+
+        verify(run).setResult(Result.FAILURE);
+        verify(flowNode).addOrReplaceAction(
+                argThat(action -> hasWarning(action, Result.FAILURE, FIRST + "\n" + SECOND)));
+        verifyNoMoreInteractions(run);
+
+        handler.flush();
+        verifyNoMoreInteractions(run);
+    }
+
+    @Test
+    void shouldOnlySetStageResult() {
+        var run = mock(Run.class);
+        var flowNode = mock(FlowNode.class);
+
+        var handler = new BatchingResultHandler(run, flowNode);
+        handler.publishResult(QualityGateStatus.ERROR, FIRST);
+        handler.publishResult(QualityGateStatus.NOTE, SECOND);
+        handler.flush();
+
+        verifyNoInteractions(run);
+        verify(flowNode).addOrReplaceAction(
+                argThat(action -> hasWarning(action, Result.FAILURE, FIRST + "\n" + SECOND)));
+    }
+
+    @Test
+    void shouldNotReplaceWorseStageResult() {
+        var run = mock(Run.class);
+        var flowNode = mock(FlowNode.class);
+        when(flowNode.getPersistentAction(WarningAction.class)).thenReturn(new WarningAction(Result.FAILURE));
+
+        var handler = new BatchingResultHandler(run, flowNode);
+        handler.publishResult(QualityGateStatus.WARNING, FIRST);
+        handler.flush();
+
+        verify(run).setResult(Result.UNSTABLE);
+        verify(flowNode, never()).addOrReplaceAction(any());
+    }
+
+    private boolean hasWarning(final Action action, final Result result, final String message) {
+        if (action instanceof WarningAction warningAction) {
+            return result.equals(warningAction.getResult()) && message.equals(warningAction.getMessage());
+        }
+        return false;
+    }
+}
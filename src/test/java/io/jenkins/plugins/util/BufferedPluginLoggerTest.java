@@ -0,0 +1,99 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link BufferedPluginLogger}.
+ *
+ * @author Ullrich Hafner
+ */
+class BufferedPluginLoggerTest {
+    private static final String TOOL_NAME = "test";
+    private static final int LINES = 100_000;
+
+    @Test
+    void shouldWriteSameOutputAsPluginLogger() {
+        var lines = createLines(LINES);
+
+        var expected = new CountingOutputStream();
+        new PluginLogger(createStream(expected), TOOL_NAME).logEachLine(lines);
+
+        var actual = new CountingOutputStream();
+        new BufferedPluginLogger(createStream(actual), TOOL_NAME).logEachLine(lines);
+
+        assertThat(actual.toString(StandardCharsets.UTF_8)).isEqualTo(expected.toString(StandardCharsets.UTF_8));
+        assertThat(actual.getWrites()).isLessThan(expected.getWrites() / 100);
+    }
+
+    @Test
+    void shouldWriteChunks() {
+        var output = new CountingOutputStream();
+        var logger = new BufferedPluginLogger(createStream(output), TOOL_NAME, 100);
+
+        logger.logEachLine(List.of());
+        assertThat(output.getWrites()).isZero();
+
+        logger.logEachLine(createLines(100));
+        assertThat(output.toString(StandardCharsets.UTF_8)).startsWith("[test] Line 0%n[test] Line 1%n".formatted())
+                .endsWith("[test] Line 99%n".formatted());
+        assertThat(output.getWrites()).isBetween(10, 50);
+
+        logger.log("Single %s", "line");
+        assertThat(output.toString(StandardCharsets.UTF_8)).endsWith("[test] Single line%n".formatted());
+    }
+
+    @Test
+    void shouldAllocateBufferLazilyAndReleaseLargeBuffers() {
+        var output = new CountingOutputStream();
+        var logger = new BufferedPluginLogger(createStream(output), TOOL_NAME);
+
+        assertThat(logger.getBufferCapacity()).isZero();
+
+        logger.logEachLine(List.of("Line"));
+        assertThat(logger.getBufferCapacity()).isBetween(1, BufferedPluginLogger.RETAINED_CAPACITY);
+
+        logger.logEachLine(createLines(10_000));
+        assertThat(logger.getBufferCapacity()).isZero();
+        assertThat(output.toString(StandardCharsets.UTF_8)).endsWith("[test] Line 9999%n".formatted());
+    }
+
+    private List<String> createLines(final int count) {
+        return IntStream.range(0, count).mapToObj(i -> "Line " + i).collect(Collectors.toList());
+    }
+
+    private PrintStream createStream(final ByteArrayOutputStream outputStream) {
+        return new PrintStream(outputStream, false, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Counts the number of write operations on the underlying stream.
+     */
+    private static class CountingOutputStream extends ByteArrayOutputStream {
+        private int writes;
+
+        @Override
+        public synchronized void write(final byte[] b, final int off, final int len) {
+            writes++;
+            super.write(b, off, len);
+        }
+
+        @Override
+        public synchronized void write(final int b) {
+            writes++;
+            super.write(b);
+        }
+
+        int getWrites() {
+            return writes;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import hudson.EnvVars;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link CompiledEnvironmentResolver}.
+ *
+ * @author Ullrich Hafner
+ */
+class CompiledEnvironmentResolverTest {
+    private static final String KEY = "KEY";
+    private static final String VALUE = "VALUE";
+    private static final String RESULT = "RESULT";
+
+    @Test
+    void shouldReturnUnmodifiedValueIfThereIsNothingToExpand() {
+        var resolver = new CompiledEnvironmentResolver();
+
+        assertThat(resolver.expandEnvironmentVariables(null, "$KEY")).isEqualTo("$KEY");
+        assertThat(resolver.expandEnvironmentVariables(new EnvVars(), "$KEY")).isEqualTo("$KEY");
+        assertThat(resolver.expandEnvironmentVariables(new EnvVars(KEY, VALUE), "")).isEmpty();
+        assertThat(resolver.expandEnvironmentVariables(new EnvVars(KEY, VALUE), " ")).isBlank();
+        assertThat(resolver.expandEnvironmentVariables(new EnvVars(KEY, VALUE), "TestString"))
+                .isEqualTo("TestString");
+    }
+
+    @Test
+    void shouldExpandBothVariableSyntaxes() {
+        var resolver = new CompiledEnvironmentResolver();
+        var environment = new EnvVars(KEY, VALUE);
+        environment.put("with.dot", RESULT);
+
+        assertThat(resolver.expandEnvironmentVariables(environment, "$KEY")).isEqualTo(VALUE);
+        assertThat(resolver.expandEnvironmentVariables(environment, "${KEY}")).isEqualTo(VALUE);
+        assertThat(resolver.expandEnvironmentVariables(environment, "a/${KEY}/b/$KEY.txt"))
+                .isEqualTo("a/VALUE/b/VALUE.txt");
+        assertThat(resolver.expandEnvironmentVariables(environment, "${with.dot}")).isEqualTo(RESULT);
+        assertThat(resolver.expandEnvironmentVariables(environment, "${key}")).isEqualTo(VALUE);
+    }
+
+    @Test
+    void shouldKeepUnresolvedReferencesAsWritten() {
+        var resolver = new CompiledEnvironmentResolver();
+        var environment = new EnvVars(KEY, VALUE);
+
+        assertThat(resolver.expandEnvironmentVariables(environment, "$UNKNOWN-${UNKNOWN}-$KEY"))
+                .isEqualTo("$UNKNOWN-${UNKNOWN}-VALUE");
+        assertThat(resolver.expandEnvironmentVariables(environment, "${KEY")).isEqualTo("${KEY");
+        assertThat(resolver.expandEnvironmentVariables(environment, "${}")).isEqualTo("${}");
+        assertThat(resolver.expandEnvironmentVariables(environment, "$")).isEqualTo("$");
+        assertThat(resolver.expandEnvironmentVariables(environment, "$-")).isEqualTo("$-");
+    }
+
+    @Test
+    void shouldReplaceEscapedDollarSigns() {
+        var resolver = new CompiledEnvironmentResolver();
+        var environment = new EnvVars(KEY, VALUE);
+
+        assertThat(resolver.expandEnvironmentVariables(environment, "$$Test$$Testing$TestString$$Testing$Test"))
+                .isEqualTo("$Test$Testing$TestString$Testing$Test");
+        assertThat(resolver.expandEnvironmentVariables(environment, "$$KEY")).isEqualTo("$KEY");
+        assertThat(resolver.expandEnvironmentVariables(environment, "$$$KEY")).isEqualTo("$VALUE");
+    }
+
+    @Test
+    void shouldResolveNestedReferences() {
+        var resolver = new CompiledEnvironmentResolver();
+        var environment = new EnvVars();
+        environment.put(KEY, "$" + VALUE);
+        environment.put(VALUE, "${" + RESULT + "}-$" + RESULT);
+        environment.put(RESULT, "done");
+
+        assertThat(resolver.expandEnvironmentVariables(environment, "$KEY")).isEqualTo("done-done");
+        assertThat(resolver.expandEnvironmentVariables(environment, "$VALUE/$KEY")).isEqualTo("done-done/done-done");
+    }
+
+    @Test
+    void shouldResolveLongChainsUpToTheConfiguredDepth() {
+        var environment = new EnvVars();
+        for (int i = 0; i < 5; i++) {
+            environment.put("V" + i, "$V" + (i + 1));
+        }
+        environment.put("V5", RESULT);
+
+        assertThat(new CompiledEnvironmentResolver().expandEnvironmentVariables(environment, "$V0"))
+                .isEqualTo(RESULT);
+        assertThat(new CompiledEnvironmentResolver(0).expandEnvironmentVariables(environment, "$V0"))
+                .isEqualTo("$V0");
+        assertThat(new CompiledEnvironmentResolver(1).expandEnvironmentVariables(environment, "$V0"))
+                .isEqualTo("$V1");
+        assertThat(new CompiledEnvironmentResolver(3).expandEnvironmentVariables(environment, "$V0/$V2"))
+                .isEqualTo("$V3/$V5");
+    }
+
+    @Test
+    void shouldProduceSameResultsAsEnvironmentResolverForNestedReferences() {
+        var environment = new EnvVars();
+        environment.put("ROOT", "/workspace");
+        environment.put("MODULE", "${ROOT}/module");
+        environment.put("REPORTS", "$MODULE/target/reports");
+        environment.put("PATTERN", "$REPORTS/**/*.xml");
+
+        var value = "${PATTERN}, $MODULE/other.xml, $UNDEFINED";
+        assertThat(new CompiledEnvironmentResolver().expandEnvironmentVariables(environment, value))
+                .isEqualTo(new EnvironmentResolver().expandEnvironmentVariables(environment, value))
+                .isEqualTo("/workspace/module/target/reports/**/*.xml, /workspace/module/other.xml, $UNDEFINED");
+    }
+
+    @Test
+    void shouldStopOnCycles() {
+        var resolver = new CompiledEnvironmentResolver();
+        var environment = new EnvVars();
+        environment.put("A", "$B");
+        environment.put("B", "x-$A");
+        environment.put("SELF", "${SELF}");
+
+        assertThat(resolver.expandEnvironmentVariables(environment, "$A")).isEqualTo("x-$A");
+        assertThat(resolver.expandEnvironmentVariables(environment, "$B")).isEqualTo("x-$B");
+        assertThat(resolver.expandEnvironmentVariables(environment, "$SELF")).isEqualTo("${SELF}");
+    }
+
+    @Test
+    void shouldExpandAllValuesOfListAndMap() {
+        var resolver = new CompiledEnvironmentResolver();
+        var environment = new EnvVars();
+        environment.put("ROOT", "/workspace");
+        environment.put("MODULE", "${ROOT}/module");
+
+        assertThat(resolver.expandEnvironmentVariables(environment, List.of("$MODULE/a", "$ROOT/b", "$MODULE", " ")))
+                .containsExactly("/workspace/module/a", "/workspace/b", "/workspace/module", " ");
+        assertThat(resolver.expandEnvironmentVariables(null, List.of("$MODULE"))).containsExactly("$MODULE");
+
+        var fields = new LinkedHashMap<String, String>();
+        fields.put("pattern", "$MODULE/**/*.xml");
+        fields.put("reportEncoding", "UTF-8");
+        fields.put("sourceDirectory", "${ROOT}/src");
+        assertThat(resolver.expandEnvironmentVariables(environment, fields)).containsExactly(
+                entry("pattern", "/workspace/module/**/*.xml"),
+                entry("reportEncoding", "UTF-8"),
+                entry("sourceDirectory", "/workspace/src"));
+    }
+
+    @Test
+    void shouldReportCyclesAndUndefinedVariables() {
+        var resolver = new CompiledEnvironmentResolver();
+        var environment = new EnvVars();
+        environment.put("A", "$B");
+        environment.put("B", "x-$A");
+        environment.put("C", "$D-$UNDEFINED");
+        environment.put("D", "ok");
+
+        var resolution = resolver.resolve(environment, "$A/$C/${X}");
+
+        assertThat(resolution.getValue()).isEqualTo("$A/ok-$UNDEFINED/${X}");
+        assertThat(resolution.hasCycles()).isTrue();
+        assertThat(resolution.isResolved()).isFalse();
+        assertThat(resolution.getCycles()).containsExactly(List.of("A", "B", "A"));
+        assertThat(resolution.getUnresolvedVariables()).containsExactlyInAnyOrder("UNDEFINED", "X");
+
+        var log = new FilteredLog("Errors");
+        assertThat(resolver.expandEnvironmentVariables(environment, "$A/$C/${X}", log))
+                .isEqualTo("$A/ok-$UNDEFINED/${X}");
+        assertThat(log.getErrorMessages()).containsExactly("Errors",
+                "Skipping expansion of environment variables with cyclic references: A -> B -> A");
+        assertThat(log.getInfoMessages()).containsExactly("Environment variables not defined: UNDEFINED, X");
+    }
+
+    @Test
+    void shouldSkipAllVariablesOfCycleThatIsReachedByVisitedVariable() {
+        var environment = new EnvVars("A", "$B$C", "B", "$A", "C", "$B", "D", "ok");
+
+        var resolution = new CompiledEnvironmentResolver().resolve(environment, "$A/$C/$D");
+
+        assertThat(resolution.getValue()).isEqualTo("$A/$C/ok");
+        assertThat(resolution.getCycles()).containsExactly(List.of("A", "B", "A"));
+        assertThat(resolution.getUnresolvedVariables()).isEmpty();
+
+        var graph = VariableGraph.analyze(environment, List.of("$A/$D"));
+        assertThat(graph.isCyclic("A")).isTrue();
+        assertThat(graph.isCyclic("B")).isTrue();
+        assertThat(graph.isCyclic("c")).isTrue();
+        assertThat(graph.isCyclic("D")).isFalse();
+    }
+
+    @Test
+    void shouldReportSelfReference() {
+        var environment = new EnvVars("SELF", "prefix-${SELF}");
+
+        var resolution = new CompiledEnvironmentResolver().resolve(environment, "$SELF");
+
+        assertThat(resolution.getValue()).isEqualTo("$SELF");
+        assertThat(resolution.getCycles()).containsExactly(List.of("SELF", "SELF"));
+        assertThat(resolution.getUnresolvedVariables()).isEmpty();
+    }
+
+    @Test
+    void shouldNotReportProblemsForResolvableValue() {
+        var environment = new EnvVars();
+        environment.put("ROOT", "/workspace");
+        environment.put("MODULE", "${ROOT}/module");
+
+        var resolution = new CompiledEnvironmentResolver().resolve(environment, "$MODULE/$ROOT");
+
+        assertThat(resolution.getValue()).isEqualTo("/workspace/module//workspace").hasToString(resolution.getValue());
+        assertThat(resolution.isResolved()).isTrue();
+        assertThat(resolution.hasCycles()).isFalse();
+
+        var log = new FilteredLog("Errors");
+        resolution.report(log);
+        assertThat(log.getErrorMessages()).isEmpty();
+        assertThat(log.getInfoMessages()).isEmpty();
+    }
+
+    @Test
+    void shouldCacheCompiledTemplates() {
+        CompiledEnvironmentResolver.clearCache();
+
+        var resolver = new CompiledEnvironmentResolver();
+        var environment = new EnvVars(KEY, VALUE);
+
+        assertThat(resolver.expandEnvironmentVariables(environment, "$KEY")).isEqualTo(VALUE);
+        assertThat(CompiledEnvironmentResolver.getCachedTemplatesCount()).isEqualTo(1);
+        assertThat(resolver.expandEnvironmentVariables(environment, "$KEY")).isEqualTo(VALUE);
+        assertThat(CompiledEnvironmentResolver.getCachedTemplatesCount()).isEqualTo(1);
+
+        for (int i = 0; i < CompiledEnvironmentResolver.TEMPLATE_CACHE_SIZE * 2; i++) {
+            assertThat(resolver.expandEnvironmentVariables(environment, "$KEY-" + i)).isEqualTo(VALUE + "-" + i);
+        }
+        assertThat(CompiledEnvironmentResolver.getCachedTemplatesCount())
+                .isEqualTo(CompiledEnvironmentResolver.TEMPLATE_CACHE_SIZE);
+    }
+
+    @Test
+    void shouldMemoizeVariablesAfterCycleInSameBatch() {
+        var environment = new EnvVars("A", "$B", "B", "$A", "C", "$D", "D", "value", "E", "$A-$D");
+        var resolution = new CompiledEnvironmentResolver.Resolution(environment, 10, null);
+
+        assertThat(resolution.expandValue("$A")).isEqualTo("$A");
+        assertThat(resolution.getMemoizedVariables()).isEmpty();
+
+        assertThat(resolution.expandValue("$C")).isEqualTo("value");
+        assertThat(resolution.getMemoizedVariables()).containsExactlyInAnyOrder("C", "D");
+
+        assertThat(resolution.expandValue("$E")).isEqualTo("$A-value");
+        assertThat(resolution.getMemoizedVariables()).containsExactlyInAnyOrder("C", "D");
+    }
+
+    @Test
+    void shouldNotCacheValuesOfEnvironmentVariables() {
+        CompiledEnvironmentResolver.clearCache();
+
+        var resolver = new CompiledEnvironmentResolver();
+        var environment = new EnvVars("TOKEN", "secret-$BUILD_NUMBER", "BUILD_NUMBER", "42");
+
+        assertThat(resolver.expandEnvironmentVariables(environment, "Token: $TOKEN")).isEqualTo("Token: secret-42");
+        assertThat(resolver.expandEnvironmentVariables(environment, List.of("$TOKEN", "$BUILD_NUMBER")))
+                .containsExactly("secret-42", "42");
+        assertThat(resolver.resolve(environment, "$TOKEN").getValue()).isEqualTo("secret-42");
+
+        assertThat(CompiledEnvironmentResolver.getCachedTemplatesCount()).isEqualTo(3); // only the patterns
+    }
+
+    @Test
+    void shouldCompileTemplate() {
+        var template = EnvironmentTemplate.compile("a$B${C}$$D${E");
+
+        assertThat(template.getVariables()).containsExactly("B", "C");
+        assertThat(template.isConstant()).isFalse();
+        assertThat(template.resolve(name -> name.equals("B") ? "b" : null)).isEqualTo("ab${C}$D${E");
+        assertThat(EnvironmentTemplate.compile("$$constant").isConstant()).isTrue();
+    }
+}
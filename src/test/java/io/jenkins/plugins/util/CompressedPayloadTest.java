@@ -0,0 +1,156 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link CompressedPayload}.
+ *
+ * @author Ullrich Hafner
+ */
+class CompressedPayloadTest {
+    @Test
+    void shouldNotCompressSmallPayload() throws IOException, ClassNotFoundException {
+        var value = new ArrayList<>(List.of("one", "two"));
+
+        var payload = CompressedPayload.of(value, CompressedPayload.DEFAULT_THRESHOLD);
+
+        assertThat(payload.isCompressed()).isFalse();
+        assertThat(payload.getSize()).isPositive().isEqualTo(payload.getTransferSize());
+        assertThat(payload.get()).isSameAs(value);
+        assertThat(roundTrip(payload).get()).isEqualTo(value);
+    }
+
+    @Test
+    void shouldCompressLargePayload() throws IOException, ClassNotFoundException {
+        var value = createValue(10_000);
+
+        var payload = CompressedPayload.of(value, CompressedPayload.DEFAULT_THRESHOLD);
+
+        assertThat(payload.isCompressed()).isTrue();
+        assertThat(payload.getTransferSize()).isLessThan(payload.getSize() / 4);
+        assertThat(payload.get()).isEqualTo(value);
+
+        var restored = roundTrip(payload);
+        assertThat(restored.isCompressed()).isTrue();
+        assertThat(restored.get()).isEqualTo(value);
+        assertThat(toByteArray(payload).length).isLessThan((int) payload.getSize());
+    }
+
+    @Test
+    void shouldDecompressPayloadOnlyOnce() throws IOException, ClassNotFoundException {
+        var value = createValue(10_000);
+        var payload = roundTrip(CompressedPayload.of(value, CompressedPayload.DEFAULT_THRESHOLD,
+                CompressedPayloadTest.class));
+        var log = new FilteredLog("Errors");
+
+        var restored = payload.get(log);
+
+        assertThat(restored).isEqualTo(value);
+        assertThat(payload.get()).isSameAs(restored);
+        assertThat(payload.get(log)).isSameAs(restored);
+        assertThat(log.getInfoMessages()).hasSize(1);
+    }
+
+    @Test
+    void shouldReportStatisticsToFirstLog() throws IOException, ClassNotFoundException {
+        var value = createValue(10_000);
+        var payload = roundTrip(CompressedPayload.of(value, CompressedPayload.DEFAULT_THRESHOLD));
+
+        assertThat(payload.get()).isEqualTo(value);
+
+        var log = new FilteredLog("Errors");
+        assertThat(payload.get(log)).isEqualTo(value);
+        assertThat(log.getInfoMessages()).singleElement().asString().startsWith("-> deduplicated 9900 strings");
+
+        var other = new FilteredLog("Errors");
+        assertThat(payload.get(other)).isEqualTo(value);
+        assertThat(other.getInfoMessages()).isEmpty();
+    }
+
+    @Test
+    void shouldDeduplicateStringsOfCompressedPayload() {
+        var value = createValue(10_000);
+        var payload = CompressedPayload.of(value, CompressedPayload.DEFAULT_THRESHOLD);
+        var log = new FilteredLog("Errors");
+
+        var restored = payload.get(log);
+
+        assertThat(restored).isEqualTo(value);
+        assertThat(restored.get(100)).isSameAs(restored.get(0));
+        assertThat(log.getInfoMessages()).singleElement().asString()
+                .startsWith("-> deduplicated 9900 strings (100 distinct), saved about ")
+                .endsWith(" KB");
+    }
+
+    @Test
+    void shouldDeduplicateStringsOfUncompressedPayload() throws IOException, ClassNotFoundException {
+        var value = createValue(1_000);
+        var payload = CompressedPayload.of(value, Integer.MAX_VALUE, CompressedPayloadTest.class);
+        assertThat(payload.isCompressed()).isFalse();
+        assertThat(payload.get()).isSameAs(value);
+
+        var log = new FilteredLog("Errors");
+        var restored = roundTrip(payload).get(log);
+
+        assertThat(restored).isEqualTo(value);
+        assertThat(restored.get(100)).isSameAs(restored.get(0));
+        assertThat(log.getInfoMessages()).singleElement().asString()
+                .startsWith("-> deduplicated 900 strings (100 distinct)");
+    }
+
+    @Test
+    void shouldKeepValueIfSerializationFails() {
+        var value = new NotSerializable();
+
+        var payload = CompressedPayload.of(value, 1);
+
+        assertThat(payload.isCompressed()).isFalse();
+        assertThat(payload.get()).isSameAs(value);
+    }
+
+    static ArrayList<String> createValue(final int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> "src/main/java/io/jenkins/plugins/module%d/File%d.java".formatted(i % 10, i % 100))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends Serializable> T roundTrip(final T value) throws IOException, ClassNotFoundException {
+        try (var input = new ObjectInputStream(new ByteArrayInputStream(toByteArray(value)))) {
+            return (T) input.readObject();
+        }
+    }
+
+    private static byte[] toByteArray(final Serializable value) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new ObjectOutputStream(bytes)) {
+            output.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * A value that claims to be serializable but has a field that is not serializable.
+     */
+    private static class NotSerializable implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @SuppressWarnings({"unused", "serial"})
+        private final Object field = new Object();
+    }
+}
@@ -0,0 +1,87 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link ConcurrentQualityGateResult}.
+ *
+ * @author Ullrich Hafner
+ */
+class ConcurrentQualityGateResultTest {
+    private static final int THREADS = 8;
+    private static final int ITEMS_PER_THREAD = 1000;
+
+    @Test
+    void shouldBeInactiveWithoutItems() {
+        var result = new ConcurrentQualityGateResult();
+
+        assertThat(result.getOverallStatus()).isEqualTo(QualityGateStatus.INACTIVE);
+        assertThat(result.isSuccessful()).isTrue();
+        assertThat(result.getResultItems()).isEmpty();
+        assertThat(result.toQualityGateResult().isInactive()).isTrue();
+        assertThat(result).hasToString("INACTIVE");
+    }
+
+    @Test
+    void shouldMergeResultsOfOtherEvaluations() {
+        var qualityGate = mock(QualityGate.class);
+
+        var first = new QualityGateResult();
+        first.add(qualityGate, QualityGateStatus.PASSED, "1");
+        var second = new QualityGateResult();
+        second.add(qualityGate, QualityGateStatus.WARNING, "2");
+        second.add(qualityGate, QualityGateStatus.NOTE, "3");
+
+        var result = new ConcurrentQualityGateResult();
+        result.addAll(first);
+        result.addAll(second);
+
+        assertThat(result.getOverallStatus()).isEqualTo(QualityGateStatus.WARNING);
+        assertThat(result.isSuccessful()).isFalse();
+
+        var merged = result.toQualityGateResult();
+        assertThat(merged.getOverallStatus()).isEqualTo(QualityGateStatus.WARNING);
+        assertThat(merged.getResultItems()).extracting(QualityGateResult.QualityGateResultItem::getActualValue)
+                .containsExactly("1", "2", "3");
+    }
+
+    @Test
+    void shouldAggregateConcurrently() throws InterruptedException, ExecutionException {
+        var qualityGate = mock(QualityGate.class);
+        var result = new ConcurrentQualityGateResult();
+
+        var executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                var status = thread == THREADS / 2 ? QualityGateStatus.FAILED : QualityGateStatus.PASSED;
+                tasks.add(() -> {
+                    for (int i = 0; i < ITEMS_PER_THREAD; i++) {
+                        result.add(qualityGate, i == ITEMS_PER_THREAD / 2 ? status : QualityGateStatus.NOTE, "value");
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(result.getResultItems()).hasSize(THREADS * ITEMS_PER_THREAD);
+        assertThat(result.getOverallStatus()).isEqualTo(QualityGateStatus.FAILED);
+        assertThat(result.toQualityGateResult().getOverallStatus()).isEqualTo(QualityGateStatus.FAILED);
+    }
+}
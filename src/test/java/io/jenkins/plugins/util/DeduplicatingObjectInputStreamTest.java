@@ -0,0 +1,69 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.List;
+
+import hudson.remoting.ClassFilter;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link DeduplicatingObjectInputStream}.
+ *
+ * @author Ullrich Hafner
+ */
+class DeduplicatingObjectInputStreamTest {
+    private static final int SAMPLE_SIZE = 100_000;
+
+    @Test
+    void shouldDeduplicateEqualStrings() throws IOException, ClassNotFoundException {
+        var value = CompressedPayloadTest.createValue(SAMPLE_SIZE);
+
+        try (var input = createStream(value)) {
+            @SuppressWarnings("unchecked")
+            var restored = (List<String>) input.readObject();
+
+            assertThat(restored).isEqualTo(value);
+            assertThat(restored.get(100)).isSameAs(restored.get(0));
+            assertThat(restored.get(1)).isNotSameAs(restored.get(0));
+
+            assertThat(input.getDistinctCount()).isEqualTo(100);
+            assertThat(input.getDeduplicatedCount()).isEqualTo(SAMPLE_SIZE - 100);
+
+            long allCharacters = value.stream().mapToLong(String::length).sum();
+            long distinctCharacters = value.stream().distinct().mapToLong(String::length).sum();
+            assertThat(input.getSavedBytes())
+                    .isEqualTo(40L * (SAMPLE_SIZE - 100) + allCharacters - distinctCharacters)
+                    .isGreaterThan(8L * 1024 * 1024);
+        }
+    }
+
+    @Test
+    void shouldNotReportIdenticalStrings() throws IOException, ClassNotFoundException {
+        var text = "text";
+
+        try (var input = createStream(new String[] {text, text, "other"})) {
+            var restored = (String[]) input.readObject();
+
+            assertThat(restored).containsExactly(text, text, "other");
+            assertThat(input.getDeduplicatedCount()).isZero();
+            assertThat(input.getSavedBytes()).isZero();
+            assertThat(input.getDistinctCount()).isEqualTo(2);
+        }
+    }
+
+    private DeduplicatingObjectInputStream createStream(final Serializable value) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new ObjectOutputStream(bytes)) {
+            output.writeObject(value);
+        }
+        return new DeduplicatingObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()),
+                getClass().getClassLoader(), ClassFilter.DEFAULT);
+    }
+}
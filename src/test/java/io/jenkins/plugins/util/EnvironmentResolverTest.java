@@ -1,6 +1,8 @@
 package io.jenkins.plugins.util;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
@@ -165,6 +167,23 @@ class EnvironmentResolverTest {
         assertThat(expanded).isBlank();
     }
 
+    /**
+     * Verifies that all values of a list and a map are expanded.
+     */
+    @Test
+    void shouldExpandAllValues() {
+        var environmentResolver = new EnvironmentResolver();
+        var envVars = new EnvVars();
+        envVars.put(KEY, "$" + VALUE);
+        envVars.put(VALUE, RESULT);
+
+        assertThat(environmentResolver.expandEnvironmentVariables(envVars, List.of("$KEY", "${VALUE}", "plain")))
+                .containsExactly(RESULT, RESULT, "plain");
+        assertThat(environmentResolver.expandEnvironmentVariables(null, List.of("$KEY"))).containsExactly("$KEY");
+        assertThat(environmentResolver.expandEnvironmentVariables(envVars, Map.of("pattern", "$KEY/*.xml")))
+                .containsExactly(entry("pattern", RESULT + "/*.xml"));
+    }
+
     private String createDollarString() {
         char[] chars = new char[NUMBER_OF_CHARS];
         Arrays.fill(chars, '$');
@@ -0,0 +1,214 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+
+import net.sf.json.JSONObject;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.kohsuke.stapler.StaplerRequest2;
+import hudson.BulkChange;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link GlobalConfigurationItem}.
+ *
+ * @author Ullrich Hafner
+ */
+class GlobalConfigurationItemTest {
+    @Test
+    void shouldDelegateLoadAndSave() {
+        var facade = mock(GlobalConfigurationFacade.class);
+        var configuration = new ConfigurationStub(facade);
+
+        configuration.load();
+        verify(facade).load();
+
+        configuration.setValue("value");
+        verify(facade).save();
+        assertThat(configuration.isDirty()).isFalse();
+        assertThat(configuration.getValue()).isEqualTo("value");
+    }
+
+    @Test
+    void shouldCoalesceSavesOfBulkChange() throws IOException {
+        var facade = mock(GlobalConfigurationFacade.class);
+        var configuration = new ConfigurationStub(facade);
+
+        try (var bulkChange = new BulkChange(configuration)) {
+            configuration.setValue("one");
+            configuration.setValue("two");
+            configuration.setValue("three");
+
+            verify(facade, never()).save();
+            assertThat(configuration.isDirty()).isTrue();
+
+            bulkChange.commit();
+        }
+
+        verify(facade).save();
+        assertThat(configuration.isDirty()).isFalse();
+    }
+
+    @Test
+    void shouldSaveLater() {
+        var facade = mock(GlobalConfigurationFacade.class);
+        var configuration = new ConfigurationStub(facade);
+
+        configuration.saveIfDirty();
+        verify(facade, never()).save();
+
+        configuration.saveLater();
+        configuration.saveLater();
+        assertThat(configuration.isDirty()).isTrue();
+
+        configuration.saveIfDirty();
+        verify(facade).save();
+        assertThat(configuration.isDirty()).isFalse();
+
+        configuration.saveIfDirty();
+        verify(facade).save();
+    }
+
+    @Test
+    void shouldResetDirtyFlagOnLoad() {
+        var facade = mock(GlobalConfigurationFacade.class);
+        var configuration = new ConfigurationStub(facade);
+
+        configuration.saveLater();
+        configuration.load();
+
+        assertThat(configuration.isDirty()).isFalse();
+    }
+
+    @Test
+    void shouldNotBlockReadersDuringSave() {
+        var facade = mock(GlobalConfigurationFacade.class);
+        var configuration = new ConfigurationStub(facade);
+        doAnswer(invocation -> {
+            assertThat(CompletableFuture.supplyAsync(() -> readValue(configuration)).join()).isEqualTo("value");
+            return null;
+        }).when(facade).save();
+
+        configuration.setValue("value");
+
+        verify(facade).save();
+    }
+
+    @Test
+    void shouldNotDeadlockIfDelayedSaveFiresDuringConfigure() throws Exception {
+        var facade = mock(GlobalConfigurationFacade.class);
+        var configuration = new ConfigurationStub(facade);
+        var delayedSave = new Thread(configuration::saveIfDirty, "delayed-save");
+        configuration.onConfigure(() -> {
+            configuration.setValue("value"); // marks the configuration as dirty
+            delayedSave.start();
+            waitUntilBlocked(delayedSave);
+        });
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            assertThat(configuration.configure(mock(StaplerRequest2.class), new JSONObject())).isTrue();
+            delayedSave.join();
+        });
+
+        verify(facade, atLeastOnce()).save();
+        assertThat(configuration.isDirty()).isFalse();
+    }
+
+    @Test
+    void shouldRejectSaveWhileHoldingOnlyTheLock() {
+        var facade = mock(GlobalConfigurationFacade.class);
+        var configuration = new ConfigurationStub(facade);
+
+        var readLock = configuration.getLock().readLock();
+        readLock.lock();
+        try {
+            assertThatIllegalStateException().isThrownBy(() -> configuration.setValue("value"))
+                    .withMessageContaining("must be released before saving");
+        }
+        finally {
+            readLock.unlock();
+        }
+        verify(facade, never()).save();
+
+        synchronized (configuration) {
+            readLock.lock();
+            try {
+                configuration.setValue("value");
+            }
+            finally {
+                readLock.unlock();
+            }
+        }
+        verify(facade).save();
+    }
+
+    @Test
+    void shouldSavePendingChangesOnTermination() {
+        var dirtyFacade = mock(GlobalConfigurationFacade.class);
+        var dirty = new ConfigurationStub(dirtyFacade);
+        dirty.saveLater();
+        var cleanFacade = mock(GlobalConfigurationFacade.class);
+        var clean = new ConfigurationStub(cleanFacade);
+
+        GlobalConfigurationItem.savePendingChanges(List.of(dirty, clean));
+
+        verify(dirtyFacade).save();
+        verify(cleanFacade, never()).save();
+        assertThat(dirty.isDirty()).isFalse();
+    }
+
+    private void waitUntilBlocked(final Thread thread) {
+        while (thread.getState() != Thread.State.BLOCKED && thread.getState() != Thread.State.WAITING
+                && thread.getState() != Thread.State.TERMINATED) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private String readValue(final ConfigurationStub configuration) {
+        var readLock = configuration.getLock().readLock();
+        assertThat(readLock.tryLock()).isTrue();
+        try {
+            return configuration.getValue();
+        }
+        finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * A configuration with a single property that is saved by its setter.
+     */
+    private static class ConfigurationStub extends GlobalConfigurationItem {
+        private String value = "";
+        private Runnable configureHook = () -> { };
+
+        ConfigurationStub(final GlobalConfigurationFacade facade) {
+            super(facade);
+        }
+
+        void setValue(final String value) {
+            this.value = value;
+
+            save();
+        }
+
+        String getValue() {
+            return value;
+        }
+
+        void onConfigure(final Runnable hook) {
+            configureHook = hook;
+        }
+
+        @Override
+        protected void clearRepeatableProperties() {
+            configureHook.run();
+        }
+    }
+}
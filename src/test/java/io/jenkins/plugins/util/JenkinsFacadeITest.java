@@ -0,0 +1,145 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.MockAuthorizationStrategy;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+import hudson.model.FreeStyleProject;
+import hudson.model.Item;
+import hudson.model.Job;
+import hudson.model.User;
+import hudson.security.ACL;
+import jenkins.model.Jenkins;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for the job enumeration and lookup methods of {@link JenkinsFacade}.
+ *
+ * @author Ullrich Hafner
+ */
+class JenkinsFacadeITest extends IntegrationTestWithJenkinsPerTest {
+    private static final String ADMIN = "admin";
+    private static final String USER = "user";
+
+    private static final String VISIBLE = "folder/visible";
+    private static final String HIDDEN = "folder/hidden";
+    private static final String OTHER = "other";
+
+    private final JenkinsFacade jenkins = new JenkinsFacade();
+
+    @BeforeEach
+    void createJobs() throws IOException {
+        var folder = getJenkins().createFolder("folder");
+        var visible = folder.createProject(FreeStyleProject.class, "visible");
+        folder.createProject(FreeStyleProject.class, "hidden");
+        createProject(FreeStyleProject.class, OTHER);
+
+        getJenkins().jenkins.setSecurityRealm(getJenkins().createDummySecurityRealm());
+        getJenkins().jenkins.setAuthorizationStrategy(new MockAuthorizationStrategy()
+                .grant(Jenkins.ADMINISTER).everywhere().to(ADMIN)
+                .grant(Jenkins.READ).everywhere().to(USER)
+                .grant(Item.READ).onItems(folder, visible).to(USER));
+    }
+
+    @Test
+    void shouldEnumerateAllJobs() {
+        var all = as(ADMIN, () -> jenkins.streamAllJobs().map(jenkins::getFullNameOf).toList());
+
+        assertThat(all).containsExactlyInAnyOrder(VISIBLE, HIDDEN, OTHER);
+        assertThat(as(ADMIN, () -> jenkins.getJobNames(0, 10))).containsExactly(HIDDEN, VISIBLE, OTHER);
+        assertThat(as(ADMIN, () -> jenkins.getJobNames(1, 1))).containsExactly(VISIBLE);
+        assertThat(as(ADMIN, () -> jenkins.getJobNames(3, 10))).isEmpty();
+    }
+
+    @Test
+    void shouldFilterJobsByPermissions() {
+        var visible = as(USER, () -> jenkins.streamAllJobs().map(jenkins::getFullNameOf).toList());
+
+        assertThat(visible).containsExactly(VISIBLE);
+        assertThat(as(USER, () -> jenkins.getJobNames(0, 10))).containsExactly(VISIBLE);
+        assertThat(as(USER, () -> jenkins.getJobNamesStartingWith("folder/", 0, 10))).containsExactly(VISIBLE);
+        assertThat(as(USER, () -> jenkins.getJobNamesStartingWith(OTHER, 0, 10))).isEmpty();
+    }
+
+    @Test
+    void shouldFindJobNamesByPrefix() {
+        assertThat(as(ADMIN, () -> jenkins.getJobNamesStartingWith("folder/", 0, 10)))
+                .containsExactly(HIDDEN, VISIBLE);
+        assertThat(as(ADMIN, () -> jenkins.getJobNamesStartingWith("folder/v", 0, 10))).containsExactly(VISIBLE);
+        assertThat(as(ADMIN, () -> jenkins.getJobNamesStartingWith("folder/", 1, 10))).containsExactly(VISIBLE);
+        assertThat(as(ADMIN, () -> jenkins.getJobNamesStartingWith("missing", 0, 10))).isEmpty();
+    }
+
+    @Test
+    void shouldCheckExistenceOfJobs() {
+        assertThat(as(ADMIN, () -> jenkins.jobExists(VISIBLE))).isTrue();
+        assertThat(as(ADMIN, () -> jenkins.jobExists(HIDDEN))).isTrue();
+        assertThat(as(ADMIN, () -> jenkins.jobExists("folder"))).isFalse();
+        assertThat(as(ADMIN, () -> jenkins.jobExists("missing"))).isFalse();
+
+        assertThat(as(USER, () -> jenkins.jobExists(VISIBLE))).isTrue();
+        assertThat(as(USER, () -> jenkins.jobExists(HIDDEN))).isFalse();
+        assertThat(as(USER, () -> jenkins.jobExists(OTHER))).isFalse();
+    }
+
+    @Test
+    void shouldAnswerRepeatedLookupsFromPermissionCache() {
+        assertThat(as(USER, () -> jenkins.jobExists(VISIBLE))).isTrue();
+
+        var hits = jenkins.getPermissionCacheHitCount();
+        var misses = jenkins.getPermissionCacheMissCount();
+
+        assertThat(as(USER, () -> jenkins.jobExists(VISIBLE))).isTrue();
+        assertThat(as(USER, () -> jenkins.jobExists(VISIBLE))).isTrue();
+
+        assertThat(jenkins.getPermissionCacheHitCount()).isEqualTo(hits + 2);
+        assertThat(jenkins.getPermissionCacheMissCount()).isEqualTo(misses);
+    }
+
+    @Test
+    void shouldReflectCreatedAndDeletedJobs() throws IOException, InterruptedException {
+        var created = createProject(FreeStyleProject.class, "created");
+
+        assertThat(as(ADMIN, () -> jenkins.jobExists("created"))).isTrue();
+        assertThat(as(ADMIN, () -> jenkins.getJobNamesStartingWith("c", 0, 10))).containsExactly("created");
+
+        created.delete();
+
+        assertThat(as(ADMIN, () -> jenkins.jobExists("created"))).isFalse();
+        assertThat(as(ADMIN, () -> jenkins.getJobNamesStartingWith("c", 0, 10))).isEmpty();
+    }
+
+    @Test
+    void shouldNotShareCachedVisibilityWithReadPermission() throws IOException {
+        var secret = getJenkins().createFolder("secret");
+        Job<?, ?> readable = secret.createProject(FreeStyleProject.class, "readable");
+        getJenkins().jenkins.setAuthorizationStrategy(new MockAuthorizationStrategy()
+                .grant(Jenkins.READ).everywhere().to(USER)
+                .grant(Item.READ).onItems(readable).to(USER));
+
+        assertThat(as(USER, () -> jenkins.jobExists("secret/readable"))).isFalse();
+        assertThat(as(USER, () -> jenkins.hasPermission(Item.READ, readable))).isTrue();
+    }
+
+    @Test
+    void shouldProvideAutoCompletionCandidates() {
+        assertThat(as(ADMIN, () -> jenkins.getJobNameCandidates("folder/", 10).getValues()))
+                .containsExactly(HIDDEN, VISIBLE);
+        assertThat(as(ADMIN, () -> jenkins.getJobNameCandidates("folder/", 1).getValues()))
+                .containsExactly(HIDDEN);
+        assertThat(as(ADMIN, () -> jenkins.getJobNameCandidates(null, 10).getValues()))
+                .containsExactly(HIDDEN, VISIBLE, OTHER);
+        assertThat(as(USER, () -> jenkins.getJobNameCandidates("", 10).getValues()))
+                .containsExactly(VISIBLE);
+    }
+
+    private <T> T as(final String user, final Supplier<T> action) {
+        try (var ignored = ACL.as2(User.getById(user, true).impersonate2())) {
+            return action.get();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import hudson.model.Job;
+import hudson.model.Run;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link JenkinsFacade}.
+ *
+ * @author Ullrich Hafner
+ */
+class JenkinsFacadeTest {
+    private static final String JOB = "folder/job";
+    private static final String OTHER = "other";
+    private static final String MISSING = "missing";
+
+    private final Set<Thread> loaders = ConcurrentHashMap.newKeySet();
+
+    @Test
+    void shouldReturnBuildsInOrderOfIds() {
+        var first = mock(Run.class);
+        var second = mock(Run.class);
+        var job = createJob(first, second);
+        var jenkins = createFacade(job);
+
+        assertThat(jenkins.getBuilds(List.of(JOB + "#2", JOB + "#1")))
+                .containsExactly(entry(JOB + "#2", second), entry(JOB + "#1", first));
+    }
+
+    @Test
+    void shouldSkipMissingJobsMissingBuildsAndInvalidIds() {
+        var first = mock(Run.class);
+        var jenkins = createFacade(createJob(first));
+
+        assertThat(jenkins.getBuilds(List.of(MISSING + "#1", JOB + "#1", JOB + "#5", JOB + "#x", "#1", JOB)))
+                .containsExactly(entry(JOB + "#1", first));
+        assertThat(jenkins.getBuilds(List.of())).isEmpty();
+    }
+
+    @Test
+    void shouldKeepAllIdsOfTheSameBuild() {
+        var first = mock(Run.class);
+        var job = createJob(first);
+        var jenkins = createFacade(job);
+
+        assertThat(jenkins.getBuilds(List.of(JOB + "#1", JOB + "#01", JOB + "#001")))
+                .containsExactly(entry(JOB + "#1", first), entry(JOB + "#01", first), entry(JOB + "#001", first));
+        verify(job).getBuildByNumber(1);
+    }
+
+    @Test
+    void shouldLoadBuildsOfSingleJobInCallingThread() {
+        var jenkins = createFacade(createJob(mock(Run.class), mock(Run.class)));
+
+        assertThat(jenkins.getBuilds(List.of(JOB + "#1", JOB + "#2"))).hasSize(2);
+        assertThat(loaders).containsExactly(Thread.currentThread());
+    }
+
+    @Test
+    void shouldLoadBuildsOfSeveralJobsInParallel() {
+        var first = mock(Run.class);
+        var other = mock(Run.class);
+        var jenkins = createFacade(createJob(first), createJob(OTHER, other));
+
+        assertThat(jenkins.getBuilds(List.of(OTHER + "#1", JOB + "#1")))
+                .containsExactly(entry(OTHER + "#1", other), entry(JOB + "#1", first));
+        assertThat(loaders).isNotEmpty().doesNotContain(Thread.currentThread());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReturnBuildsOfOtherJobsIfJobFails() {
+        var broken = createJob();
+        when(broken.getBuildByNumber(anyInt())).thenThrow(new IllegalStateException("Broken build directory"));
+        var other = mock(Run.class);
+        var jenkins = createFacade(broken, createJob(OTHER, other));
+
+        List<LogRecord> records = new CopyOnWriteArrayList<>();
+        var handler = new Handler() {
+            @Override
+            public void publish(final LogRecord logRecord) {
+                records.add(logRecord);
+            }
+
+            @Override
+            public void flush() {
+                // nothing to flush
+            }
+
+            @Override
+            public void close() {
+                // nothing to close
+            }
+        };
+        var logger = Logger.getLogger(JenkinsFacade.class.getName());
+        logger.addHandler(handler);
+        try {
+            assertThat(jenkins.getBuilds(List.of(JOB + "#1", OTHER + "#1")))
+                    .containsExactly(entry(OTHER + "#1", other));
+        }
+        finally {
+            logger.removeHandler(handler);
+        }
+
+        assertThat(records).hasSize(1).first().satisfies(logRecord -> {
+            assertThat(logRecord.getLevel()).isEqualTo(Level.WARNING);
+            assertThat(logRecord.getMessage()).contains("'" + JOB + "'");
+            assertThat(logRecord.getThrown()).hasMessage("Broken build directory");
+        });
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private JenkinsFacade createFacade(final Job... jobs) {
+        var jenkins = spy(new JenkinsFacade());
+        doReturn(Optional.empty()).when(jenkins).getJob(anyString());
+        for (Job job : jobs) {
+            var name = job.getFullName();
+            doReturn(Optional.of(job)).when(jenkins).getJob(name);
+        }
+        return jenkins;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Job createJob(final Run... builds) {
+        return createJob(JOB, builds);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Job createJob(final String name, final Run... builds) {
+        var job = mock(Job.class);
+        when(job.getFullName()).thenReturn(name);
+        for (int i = 0; i < builds.length; i++) {
+            var build = builds[i];
+            when(job.getBuildByNumber(i + 1)).thenAnswer(invocation -> {
+                loaders.add(Thread.currentThread());
+                return build;
+            });
+        }
+        return job;
+    }
+}
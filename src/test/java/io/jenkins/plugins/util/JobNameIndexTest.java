@@ -0,0 +1,118 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import hudson.model.Item;
+import hudson.model.Job;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link JobNameIndex}.
+ *
+ * @author Ullrich Hafner
+ */
+class JobNameIndexTest {
+    private static final String FIRST = "folder/first";
+    private static final String SECOND = "folder/second";
+    private static final String OTHER = "other";
+
+    @Test
+    void shouldCreateIndexWhenItemsHaveBeenLoaded() {
+        var index = createLoadedIndex(FIRST, SECOND, OTHER);
+
+        assertThat(index.isLoaded()).isTrue();
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.findNames("", name -> true, 0, 10)).containsExactly(FIRST, SECOND, OTHER);
+    }
+
+    @Test
+    void shouldFindNamesByPrefixWithPaging() {
+        var index = createLoadedIndex(FIRST, SECOND, OTHER, "folder/third");
+
+        assertThat(index.findNames("folder/", name -> true, 0, 10))
+                .containsExactly(FIRST, SECOND, "folder/third");
+        assertThat(index.findNames("folder/", name -> true, 1, 1)).containsExactly(SECOND);
+        assertThat(index.findNames("folder/", name -> !name.equals(FIRST), 0, 2))
+                .containsExactly(SECOND, "folder/third");
+        assertThat(index.findNames("folder/s", name -> true, 0, 10)).containsExactly(SECOND);
+        assertThat(index.findNames("missing", name -> true, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldUpdateIndexIncrementally() {
+        var index = createLoadedIndex(FIRST);
+
+        index.onCreated(createJob(SECOND));
+        index.onCopied(createJob(FIRST), createJob(OTHER));
+        assertThat(index.findNames("", name -> true, 0, 10)).containsExactly(FIRST, SECOND, OTHER);
+
+        index.onLocationChanged(createJob("renamed"), OTHER, "renamed");
+        assertThat(index.findNames("", name -> true, 0, 10)).containsExactly(FIRST, SECOND, "renamed");
+
+        var folder = mock(Item.class);
+        when(folder.getFullName()).thenReturn("folder");
+        index.onLocationChanged(folder, "folder", "moved");
+        assertThat(index.size()).isEqualTo(3);
+
+        index.onDeleted(folder);
+        assertThat(index.findNames("", name -> true, 0, 10)).containsExactly("renamed");
+    }
+
+    @Test
+    void shouldCheckExistenceOfJobs() {
+        var index = createLoadedIndex(FIRST, SECOND);
+
+        assertThat(index.contains(FIRST)).isTrue();
+        assertThat(index.contains("folder")).isFalse();
+        assertThat(index.contains(OTHER)).isFalse();
+
+        index.onCreated(createJob(OTHER));
+        assertThat(index.contains(OTHER)).isTrue();
+
+        index.onLocationChanged(createJob("renamed"), OTHER, "renamed");
+        assertThat(index.contains(OTHER)).isFalse();
+        assertThat(index.contains("renamed")).isTrue();
+
+        var folder = mock(Item.class);
+        when(folder.getFullName()).thenReturn("folder");
+        index.onDeleted(folder);
+        assertThat(index.contains(FIRST)).isFalse();
+        assertThat(index.contains(SECOND)).isFalse();
+        assertThat(index.contains("renamed")).isTrue();
+    }
+
+    @Test
+    void shouldIndexJobsOfCreatedFolder() {
+        var index = createLoadedIndex();
+
+        var folder = mock(Item.class);
+        List<Job<?, ?>> jobs = List.of(createJob(FIRST), createJob(SECOND));
+        doReturn(jobs).when(folder).getAllJobs();
+        index.onCreated(folder);
+
+        assertThat(index.findNames("", name -> true, 0, 10)).containsExactly(FIRST, SECOND);
+    }
+
+    private JobNameIndex createLoadedIndex(final String... names) {
+        var jenkins = mock(JenkinsFacade.class);
+        when(jenkins.streamAllJobs()).thenReturn(Stream.of(names).map(this::createJob));
+        when(jenkins.getFullNameOf(any())).thenAnswer(invocation -> invocation.<Job<?, ?>>getArgument(0).getFullName());
+
+        var index = new JobNameIndex(jenkins);
+        assertThat(index.isLoaded()).isFalse();
+        index.onLoaded();
+        return index;
+    }
+
+    private Job<?, ?> createJob(final String fullName) {
+        Job<?, ?> job = mock(Job.class);
+        when(job.getFullName()).thenReturn(fullName);
+        doReturn(List.of(job)).when(job).getAllJobs();
+        return job;
+    }
+}
@@ -0,0 +1,100 @@
+package io.jenkins.plugins.util;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import hudson.FilePath;
+import hudson.remoting.Channel;
+import hudson.remoting.ChannelBuilder;
+import hudson.remoting.FastPipedInputStream;
+import hudson.remoting.FastPipedOutputStream;
+
+/**
+ * A pair of connected remoting {@link Channel channels} within the same JVM. Callables that are invoked using the
+ * controller side of the pair are serialized, sent through the pipe, and executed on the agent side, just like
+ * callables that are sent to a real agent. This pair can be used in tests and benchmarks to measure the costs of the
+ * remoting layer without starting Jenkins.
+ *
+ * @author Ullrich Hafner
+ */
+public class LocalChannelPair implements AutoCloseable {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Channel controller;
+    private final Channel agent;
+
+    /**
+     * Creates and connects a new pair of channels.
+     *
+     * @throws IOException
+     *         if the channels could not be connected
+     */
+    @SuppressWarnings("PMD.CloseResource")
+    public LocalChannelPair() throws IOException {
+        var agentInput = new FastPipedInputStream();
+        var controllerOutput = new FastPipedOutputStream(agentInput);
+        var controllerInput = new FastPipedInputStream();
+        var agentOutput = new FastPipedOutputStream(controllerInput);
+
+        var agentChannel = executor.submit(
+                () -> new ChannelBuilder("agent", executor).build(agentInput, agentOutput));
+        controller = new ChannelBuilder("controller", executor).build(controllerInput, controllerOutput);
+        try {
+            agent = agentChannel.get();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException(exception);
+        }
+        catch (ExecutionException exception) {
+            throw new IOException(exception.getCause());
+        }
+    }
+
+    /**
+     * Returns the channel on the controller side. Callables that are invoked using this channel are executed on the
+     * agent side.
+     *
+     * @return the controller channel
+     */
+    public Channel getController() {
+        return controller;
+    }
+
+    /**
+     * Returns the channel on the agent side.
+     *
+     * @return the agent channel
+     */
+    public Channel getAgent() {
+        return agent;
+    }
+
+    /**
+     * Returns a remote {@link FilePath} for the specified folder: all operations on this path are executed on the agent
+     * side of the channel pair.
+     *
+     * @param folder
+     *         the folder
+     *
+     * @return the remote path
+     */
+    public FilePath getRemotePath(final Path folder) {
+        return new FilePath(controller, folder.toAbsolutePath().toString());
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        try {
+            controller.close();
+            agent.close();
+            controller.join();
+            agent.join();
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+}
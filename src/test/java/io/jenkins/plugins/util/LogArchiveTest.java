@@ -0,0 +1,108 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.StaplerResponse2;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+
+import hudson.model.Item;
+import hudson.model.Run;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link LogArchive}.
+ *
+ * @author Ullrich Hafner
+ */
+class LogArchiveTest {
+    @TempDir
+    private Path folder;
+
+    @Test
+    void shouldServeUncompressedArchive() throws IOException {
+        var archive = createArchive(true);
+        archive.append(List.of("first", "second"));
+        archive.append(List.of("third"));
+
+        var response = mock(StaplerResponse2.class);
+        var content = new ByteArrayOutputStream();
+        when(response.getOutputStream()).thenReturn(new CapturingOutputStream(content));
+
+        archive.doDownload(mock(StaplerRequest2.class), response);
+
+        verify(response).setContentType("text/plain;charset=UTF-8");
+        verify(response).setHeader("Content-Disposition", "attachment; filename=\"console.log\"");
+        assertThat(content.toString(StandardCharsets.UTF_8)).isEqualTo("first%nsecond%nthird%n".formatted());
+    }
+
+    @Test
+    void shouldRejectUserWithoutPermission() throws IOException {
+        var archive = createArchive(false);
+        archive.append(List.of("secret"));
+        var response = mock(StaplerResponse2.class);
+
+        archive.doDownload(mock(StaplerRequest2.class), response);
+
+        verify(response).sendError(HttpServletResponse.SC_FORBIDDEN);
+        verify(response, never()).getOutputStream();
+    }
+
+    @Test
+    void shouldReportMissingArchive() throws IOException {
+        var archive = createArchive(true);
+        var response = mock(StaplerResponse2.class);
+
+        archive.doDownload(mock(StaplerRequest2.class), response);
+
+        verify(response).sendError(HttpServletResponse.SC_NOT_FOUND);
+        verify(response, never()).getOutputStream();
+        assertThat(archive.readLines()).isEmpty();
+    }
+
+    private LogArchive createArchive(final boolean isPermitted) {
+        var owner = mock(Run.class);
+        var jenkins = mock(JenkinsFacade.class);
+        when(jenkins.hasPermission(Item.READ, owner)).thenReturn(isPermitted);
+        return new LogArchive(folder.resolve("console.gz"), owner, jenkins);
+    }
+
+    /**
+     * A servlet output stream that writes to a byte array.
+     */
+    private static class CapturingOutputStream extends ServletOutputStream {
+        private final ByteArrayOutputStream content;
+
+        CapturingOutputStream(final ByteArrayOutputStream content) {
+            super();
+
+            this.content = content;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(final WriteListener writeListener) {
+            // not required
+        }
+
+        @Override
+        public void write(final int b) {
+            content.write(b);
+        }
+    }
+}
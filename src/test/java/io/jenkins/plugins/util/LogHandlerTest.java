@@ -1,6 +1,7 @@
 package io.jenkins.plugins.util;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -10,6 +11,12 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import hudson.model.TaskListener;
 
@@ -88,6 +95,221 @@ class LogHandlerTest {
         }
     }
 
+    @Test
+    void shouldStreamMessages() throws IOException {
+        try (var outputStream = new ByteArrayOutputStream();
+                var printStream = wrapStream(outputStream)) {
+            var logHandler = new LogHandler(createTaskListener(printStream), LOG_HANDLER_NAME);
+
+            logHandler.logInfo("%s %d", MESSAGE, 1);
+            logHandler.logError(MESSAGE);
+            logHandler.setQuiet(true);
+            logHandler.logInfo(NOT_SHOWN);
+            logHandler.logError(NOT_SHOWN);
+            logHandler.flush();
+
+            assertThat(outputStream).hasToString(String.format(
+                    "[%s] %s 1%n"
+                            + "[%s] [-ERROR-] %s%n",
+                    LOG_HANDLER_NAME, MESSAGE, LOG_HANDLER_NAME, MESSAGE));
+        }
+    }
+
+    @Test
+    void shouldCollapseDuplicateMessages() throws IOException {
+        try (var outputStream = new ByteArrayOutputStream();
+                var printStream = wrapStream(outputStream)) {
+            var logHandler = new LogHandler(createTaskListener(printStream), LOG_HANDLER_NAME);
+            logHandler.setCollapseDuplicates(true);
+
+            logHandler.logErrorMessages(List.of(MESSAGE, ADDITIONAL_MESSAGE, MESSAGE, MESSAGE));
+
+            assertThat(outputStream).hasToString(String.format(
+                    "[%s] [-ERROR-] %s (3 times)%n"
+                            + "[%s] [-ERROR-] %s%n",
+                    LOG_HANDLER_NAME, MESSAGE, LOG_HANDLER_NAME, ADDITIONAL_MESSAGE));
+        }
+    }
+
+    @Test
+    void shouldSuppressLinesAfterMaximum(@TempDir final Path buildFolder) throws IOException {
+        try (var outputStream = new ByteArrayOutputStream();
+                var printStream = wrapStream(outputStream)) {
+            var logHandler = new LogHandler(createTaskListener(printStream), LOG_HANDLER_NAME);
+            logHandler.setMaximumLines(3);
+            var archive = buildFolder.resolve("log.gz");
+            logHandler.setArchive(archive);
+
+            logHandler.logInfoMessages(List.of("1", "2"));
+            logHandler.logErrorMessages(Collections.nCopies(5, MESSAGE));
+            logHandler.logInfoMessages(List.of("1", "2", "3"));
+            logHandler.flush();
+
+            assertThat(outputStream).hasToString(String.format(
+                    "[%1$s] 1%n"
+                            + "[%1$s] 2%n"
+                            + "[%1$s] [-ERROR-] %2$s%n"
+                            + "[%1$s] [-ERROR-] ... 4 more lines suppressed (see 'log.gz')%n"
+                            + "[%1$s] ... 1 more lines suppressed (see 'log.gz')%n",
+                    LOG_HANDLER_NAME, MESSAGE));
+            assertThat(new LogArchive(archive).readLines()).hasSize(8)
+                    .startsWith("[TestHandler] 1", "[TestHandler] 2", "[TestHandler] [-ERROR-] TestMessage")
+                    .endsWith("[TestHandler] 3");
+        }
+    }
+
+    @Test
+    void shouldStreamMessagesInBatches(@TempDir final Path buildFolder) throws IOException {
+        try (var outputStream = new ByteArrayOutputStream();
+                var printStream = wrapStream(outputStream)) {
+            var logHandler = new LogHandler(createTaskListener(printStream), LOG_HANDLER_NAME);
+            var archive = buildFolder.resolve("log.gz");
+            logHandler.setArchive(archive);
+
+            for (int i = 1; i < LogHandler.STREAMING_BATCH_SIZE; i++) {
+                logHandler.logInfo("Line %d", i);
+            }
+            assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEmpty();
+
+            logHandler.logInfo("Line %d", LogHandler.STREAMING_BATCH_SIZE);
+            assertThat(outputStream.toString(StandardCharsets.UTF_8)).startsWith("[TestHandler] Line 1")
+                    .endsWith("[TestHandler] Line %d%n".formatted(LogHandler.STREAMING_BATCH_SIZE));
+
+            logHandler.logError(MESSAGE);
+            logHandler.flush();
+            assertThat(outputStream.toString(StandardCharsets.UTF_8))
+                    .endsWith("[TestHandler] [-ERROR-] %s%n".formatted(MESSAGE));
+            assertThat(new LogArchive(archive).readLines()).hasSize(LogHandler.STREAMING_BATCH_SIZE + 1);
+        }
+    }
+
+    @Test
+    void shouldPrintSingleSummaryOfSuppressedStreamedLines() throws IOException {
+        try (var outputStream = new ByteArrayOutputStream();
+                var printStream = wrapStream(outputStream)) {
+            var logHandler = new LogHandler(createTaskListener(printStream), LOG_HANDLER_NAME);
+            logHandler.setMaximumLines(2);
+            logHandler.setCollapseDuplicates(true);
+
+            for (int i = 0; i < 1000; i++) {
+                logHandler.logInfo("Line %d", i);
+            }
+            logHandler.flush();
+
+            assertThat(outputStream).hasToString(String.format(
+                    "[%1$s] Line 0%n"
+                            + "[%1$s] Line 1%n"
+                            + "[%1$s] ... 998 more lines suppressed%n",
+                    LOG_HANDLER_NAME));
+        }
+    }
+
+    @Test
+    void shouldPrintSummaryOnlyOnFlush() throws IOException {
+        try (var outputStream = new ByteArrayOutputStream();
+                var printStream = wrapStream(outputStream)) {
+            var logHandler = new LogHandler(createTaskListener(printStream), LOG_HANDLER_NAME);
+            logHandler.setMaximumLines(1);
+
+            logHandler.logErrorMessages(List.of("1", "2"));
+            logHandler.logErrorMessages(List.of("1", "2", "3"));
+            logHandler.logErrorMessages(List.of("1", "2", "3", "4"));
+            assertThat(outputStream.toString(StandardCharsets.UTF_8)).doesNotContain("suppressed");
+
+            logHandler.flush();
+            logHandler.flush();
+
+            assertThat(outputStream).hasToString(String.format(
+                    "[%1$s] [-ERROR-] 1%n"
+                            + "[%1$s] [-ERROR-] ... 3 more lines suppressed%n",
+                    LOG_HANDLER_NAME));
+        }
+    }
+
+    @Test
+    void shouldWritePendingLinesAfterInterval() throws IOException, InterruptedException {
+        try (var outputStream = new ByteArrayOutputStream();
+                var printStream = wrapStream(outputStream)) {
+            var logHandler = new LogHandler(createTaskListener(printStream), LOG_HANDLER_NAME);
+
+            logHandler.logInfo(MESSAGE);
+            assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEmpty();
+
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (outputStream.size() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+
+            assertThat(outputStream).hasToString("[%s] %s%n".formatted(LOG_HANDLER_NAME, MESSAGE));
+        }
+    }
+
+    @Test
+    void shouldStreamMessagesFromSeveralThreads() throws IOException, InterruptedException {
+        try (var outputStream = new ByteArrayOutputStream();
+                var printStream = wrapStream(outputStream)) {
+            var logHandler = new LogHandler(createTaskListener(printStream), LOG_HANDLER_NAME);
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            for (int thread = 0; thread < 4; thread++) {
+                var name = "Thread " + thread;
+                executor.execute(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        logHandler.logInfo("%s: %d", name, i);
+                    }
+                });
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+            logHandler.flush();
+
+            assertThat(outputStream.toString(StandardCharsets.UTF_8).lines()).hasSize(4000).doesNotHaveDuplicates();
+        }
+    }
+
+    @Test
+    void shouldSkipMessagesThatHaveBeenStreamed() throws IOException, ClassNotFoundException {
+        try (var outputStream = new ByteArrayOutputStream();
+                var printStream = wrapStream(outputStream)) {
+            var logHandler = new LogHandler(createTaskListener(printStream), LOG_HANDLER_NAME);
+            var log = new StreamingLog("Title", logHandler);
+
+            log.logInfo(MESSAGE);
+            log.logError(MESSAGE);
+
+            var restored = CompressedPayloadTest.roundTrip(log);
+            restored.logInfo(ADDITIONAL_MESSAGE);
+            restored.logError(ADDITIONAL_MESSAGE);
+
+            logHandler.log(restored);
+            logHandler.flush();
+
+            assertThat(outputStream).hasToString(String.format(
+                    "[%1$s] %2$s%n"
+                            + "[%1$s] [-ERROR-] %2$s%n"
+                            + "[%1$s] [-ERROR-] %3$s%n"
+                            + "[%1$s] %3$s%n",
+                    LOG_HANDLER_NAME, MESSAGE, ADDITIONAL_MESSAGE));
+        }
+    }
+
+    @Test
+    void shouldCollapseDuplicateStreamedMessages() throws IOException {
+        try (var outputStream = new ByteArrayOutputStream();
+                var printStream = wrapStream(outputStream)) {
+            var logHandler = new LogHandler(createTaskListener(printStream), LOG_HANDLER_NAME);
+            logHandler.setCollapseDuplicates(true);
+
+            logHandler.logError(MESSAGE);
+            logHandler.logError(MESSAGE);
+            logHandler.logError(MESSAGE);
+            logHandler.flush();
+
+            assertThat(outputStream).hasToString(
+                    "[%s] [-ERROR-] %s (3 times)%n".formatted(LOG_HANDLER_NAME, MESSAGE));
+        }
+    }
+
     private PrintStream wrapStream(final ByteArrayOutputStream outputStream) {
         return new PrintStream(outputStream, true, StandardCharsets.UTF_8);
     }
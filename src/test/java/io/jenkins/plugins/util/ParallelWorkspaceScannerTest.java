@@ -0,0 +1,163 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import hudson.FilePath;
+import hudson.FilePath.FileCallable;
+
+import io.jenkins.plugins.util.AgentFileVisitor.FileVisitorResult;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link ParallelWorkspaceScanner}.
+ *
+ * @author Ullrich Hafner
+ */
+class ParallelWorkspaceScannerTest {
+    private static final String PATTERN = "**/*.txt";
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldScanAllWorkspaces(@TempDir final Path first, @TempDir final Path second)
+            throws IOException, InterruptedException {
+        createFile(first, "one.txt");
+        createFile(second, "two.txt");
+        createFile(second, "three.txt");
+
+        Map<String, FilePath> workspaces = new LinkedHashMap<>();
+        workspaces.put("first", new FilePath(first.toFile()));
+        workspaces.put("second", new FilePath(second.toFile()));
+
+        var log = new FilteredLog("Errors");
+        List<String> completed = new ArrayList<>();
+
+        var results = new ParallelWorkspaceScanner(executor).scan(new FileNameScanner(), workspaces, log,
+                (label, result) -> completed.add(label));
+
+        assertThat(results).containsOnlyKeys("first", "second");
+        assertThat(results.keySet()).containsExactly("first", "second");
+        assertThat(results.get("first").getResults()).containsExactly("one.txt");
+        assertThat(results.get("second").getResults()).containsExactlyInAnyOrder("two.txt", "three.txt");
+        assertThat(completed).containsExactlyInAnyOrder("first", "second");
+
+        assertThat(log.getErrorMessages()).isEmpty();
+        assertThat(log.getInfoMessages())
+                .contains("[first] -> found 1 file", "[second] -> found 2 files")
+                .allMatch(message -> message.startsWith("[first] ") || message.startsWith("[second] "));
+    }
+
+    @Test
+    void shouldMergeErrorsWithPrefix(@TempDir final Path empty) throws InterruptedException {
+        var log = new FilteredLog("Errors");
+
+        var results = new ParallelWorkspaceScanner(executor).scan(new FileNameScanner(),
+                Map.of("empty", new FilePath(empty.toFile())), log);
+
+        assertThat(results.get("empty").getResults()).isEmpty();
+        assertThat(log.getErrorMessages()).containsExactly("Errors",
+                "[empty] No files found for pattern '**/*.txt'. Configuration error?");
+    }
+
+    @Test
+    void shouldLogExceptionsOfBrokenWorkspaces(@TempDir final Path workspace)
+            throws IOException, InterruptedException {
+        createFile(workspace, "one.txt");
+
+        var broken = mock(FilePath.class);
+        when(broken.getRemote()).thenReturn("/broken");
+        when(broken.act(any(FileCallable.class))).thenThrow(new IOException("Agent is offline"));
+
+        Map<String, FilePath> workspaces = new LinkedHashMap<>();
+        workspaces.put("broken", broken);
+        workspaces.put("valid", new FilePath(workspace.toFile()));
+
+        var log = new FilteredLog("Errors");
+
+        var results = new ParallelWorkspaceScanner(executor).scan(new FileNameScanner(), workspaces, log);
+
+        assertThat(results).containsOnlyKeys("valid");
+        assertThat(log.getErrorMessages()).contains("[broken] Can't scan workspace '/broken'");
+        assertThat(log.getErrorMessages()).anySatisfy(
+                message -> assertThat(message).contains("Agent is offline"));
+    }
+
+    @Test
+    void shouldCancelRemainingScansIfInterrupted() throws IOException, InterruptedException {
+        var blocked = new CountDownLatch(1);
+        var canceled = new CountDownLatch(1);
+
+        var slow = mock(FilePath.class);
+        when(slow.act(any(FileCallable.class))).thenAnswer(invocation -> {
+            blocked.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            }
+            catch (InterruptedException exception) {
+                canceled.countDown();
+            }
+            return null;
+        });
+        var interrupted = mock(FilePath.class);
+        when(interrupted.act(any(FileCallable.class))).thenAnswer(invocation -> {
+            blocked.await();
+            throw new InterruptedException("Aborted");
+        });
+
+        Map<String, FilePath> workspaces = new LinkedHashMap<>();
+        workspaces.put("slow", slow);
+        workspaces.put("interrupted", interrupted);
+
+        assertThatExceptionOfType(InterruptedException.class).isThrownBy(
+                () -> new ParallelWorkspaceScanner(executor).scan(new FileNameScanner(), workspaces,
+                        new FilteredLog("Errors")))
+                .withMessage("Aborted");
+        assertThat(canceled.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private void createFile(final Path folder, final String name) throws IOException {
+        Files.writeString(folder.resolve(name), "content", StandardCharsets.UTF_8);
+    }
+
+    private static class FileNameScanner extends AgentFileVisitor<String> {
+        @Serial
+        private static final long serialVersionUID = 1697219416234612085L;
+
+        FileNameScanner() {
+            super(PATTERN, "UTF-8", false, true);
+        }
+
+        @Override
+        protected Optional<String> processFile(final Path file, final Charset charset, final FilteredLog log) {
+            return Optional.of(file.getFileName().toString());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link PayloadMeter}.
+ *
+ * @author Ullrich Hafner
+ */
+class PayloadMeterTest {
+    @Test
+    void shouldFormatSize() {
+        assertThat(PayloadMeter.formatSize(0)).isEqualTo("0 bytes");
+        assertThat(PayloadMeter.formatSize(1023)).isEqualTo("1023 bytes");
+        assertThat(PayloadMeter.formatSize(1024)).isEqualTo("1.0 KB");
+        assertThat(PayloadMeter.formatSize(1536)).isEqualTo("1.5 KB");
+        assertThat(PayloadMeter.formatSize(3 * 1024 * 1024)).isEqualTo("3.0 MB");
+    }
+
+    @Test
+    void shouldMeasureSerializedSize() throws IOException {
+        var small = PayloadMeter.getSerializedSize(new ArrayList<>(List.of("a")));
+        var large = PayloadMeter.getSerializedSize(new ArrayList<>(List.of("a".repeat(10_000))));
+
+        assertThat(small).isPositive();
+        assertThat(large).isGreaterThan(small + 9_000);
+    }
+
+    @Test
+    void shouldReportSize() {
+        var log = new FilteredLog("Errors");
+
+        PayloadMeter.report("payload", "a".repeat(2000), log);
+
+        assertThat(log.getInfoMessages()).singleElement().asString()
+                .startsWith("-> serialized size of payload: 2.0 KB (serialized in");
+        assertThat(log.getErrorMessages()).isEmpty();
+    }
+
+    @Test
+    void shouldReportErrorIfPayloadIsNotSerializable() {
+        var log = new FilteredLog("Errors");
+
+        PayloadMeter.report("payload", new ArrayList<>(List.of(new Object())), log);
+
+        assertThat(log.getInfoMessages()).isEmpty();
+        assertThat(log.getErrorMessages()).contains("Can't determine the serialized size of payload");
+        assertThatExceptionOfType(NotSerializableException.class).isThrownBy(
+                () -> PayloadMeter.getSerializedSize((Serializable) List.of(new Object())));
+    }
+}
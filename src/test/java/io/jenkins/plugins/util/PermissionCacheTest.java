@@ -0,0 +1,146 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link PermissionCache}.
+ *
+ * @author Ullrich Hafner
+ */
+class PermissionCacheTest {
+    private static final Object STRATEGY = new Object();
+    private static final Object REALM = new Object();
+    private static final String USER = "user";
+    private static final String READ = "hudson.model.Item.Read";
+    private static final String JOB = "folder/job";
+
+    private final AtomicLong time = new AtomicLong();
+    private final AtomicInteger evaluations = new AtomicInteger();
+    private final PermissionCache cache = new PermissionCache(Duration.ofSeconds(10), time::get);
+
+    @Test
+    void shouldCacheResultOfPermissionCheck() {
+        assertThat(check(USER, READ, JOB, true)).isTrue();
+        assertThat(check(USER, READ, JOB, false)).isTrue();
+        assertThat(check(USER, READ, JOB, false)).isTrue();
+
+        assertThat(evaluations).hasValue(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCacheResultsPerAuthenticationPermissionAndItem() {
+        assertThat(check(USER, READ, JOB, true)).isTrue();
+        assertThat(check("other", READ, JOB, false)).isFalse();
+        assertThat(check(USER, "hudson.model.Item.Configure", JOB, false)).isFalse();
+        assertThat(check(USER, READ, "other-job", false)).isFalse();
+        assertThat(check(USER, READ, "", false)).isFalse();
+
+        assertThat(evaluations).hasValue(5);
+        assertThat(cache.size()).isEqualTo(5);
+        assertThat(check(USER, READ, JOB, false)).isTrue();
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldEvaluateAgainAfterTimeToLive() {
+        assertThat(check(USER, READ, JOB, true)).isTrue();
+
+        time.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThat(check(USER, READ, JOB, false)).isTrue();
+
+        time.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(check(USER, READ, JOB, false)).isFalse();
+
+        assertThat(evaluations).hasValue(2);
+    }
+
+    @Test
+    void shouldInvalidateWhenSecurityConfigurationChanges() {
+        assertThat(check(USER, READ, JOB, true)).isTrue();
+
+        assertThat(cache.hasPermission(new Object(), REALM, USER, READ, JOB, this::deny)).isFalse();
+        assertThat(cache.hasPermission(new Object(), new Object(), USER, READ, JOB, this::grant)).isTrue();
+        assertThat(evaluations).hasValue(3);
+
+        cache.invalidate();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldNotReturnResultOfCheckThatOverlapsWithChangeOfSecurityConfiguration() {
+        var newStrategy = new Object();
+        assertThat(cache.hasPermission(STRATEGY, REALM, USER, READ, JOB, () -> {
+            cache.hasPermission(newStrategy, REALM, "other", READ, JOB, this::deny);
+            return grant();
+        })).isTrue();
+
+        assertThat(cache.hasPermission(newStrategy, REALM, USER, READ, JOB, this::deny)).isFalse();
+        assertThat(evaluations).hasValue(3);
+    }
+
+    @Test
+    void shouldNotReturnResultOfCheckThatOverlapsWithInvalidation() {
+        assertThat(cache.hasPermission(STRATEGY, REALM, USER, READ, JOB, () -> {
+            cache.invalidate();
+            return grant();
+        })).isTrue();
+
+        assertThat(check(USER, READ, JOB, false)).isFalse();
+        assertThat(evaluations).hasValue(2);
+    }
+
+    @Test
+    void shouldLimitNumberOfEntries() {
+        for (int i = 0; i < PermissionCache.MAXIMUM_SIZE + 10; i++) {
+            check(USER, READ, "job-" + i, true);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(PermissionCache.MAXIMUM_SIZE);
+    }
+
+    private boolean check(final String user, final String permission, final String item, final boolean isGranted) {
+        return cache.hasPermission(STRATEGY, REALM, user, permission, item, isGranted ? this::grant : this::deny);
+    }
+
+    private boolean grant() {
+        evaluations.incrementAndGet();
+        return true;
+    }
+
+    @Test
+    void shouldDistinguishAuthenticationsWithSameNameButDifferentAuthorities() {
+        var session = new UsernamePasswordAuthenticationToken(USER, "password",
+                List.of(new SimpleGrantedAuthority("admins"), new SimpleGrantedAuthority("authenticated")));
+        var sameAuthorities = new UsernamePasswordAuthenticationToken(USER, "other",
+                List.of(new SimpleGrantedAuthority("authenticated"), new SimpleGrantedAuthority("admins")));
+        var impersonated = new UsernamePasswordAuthenticationToken(USER, "password",
+                List.of(new SimpleGrantedAuthority("authenticated")));
+
+        var sessionKey = PermissionCache.createPrincipalKey(session);
+        assertThat(sessionKey).isEqualTo(PermissionCache.createPrincipalKey(sameAuthorities));
+        assertThat(sessionKey).isNotEqualTo(PermissionCache.createPrincipalKey(impersonated));
+
+        assertThat(check(sessionKey, READ, JOB, true)).isTrue();
+        assertThat(check(PermissionCache.createPrincipalKey(sameAuthorities), READ, JOB, false)).isTrue();
+        assertThat(check(PermissionCache.createPrincipalKey(impersonated), READ, JOB, false)).isFalse();
+
+        assertThat(evaluations).hasValue(2);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    private boolean deny() {
+        evaluations.incrementAndGet();
+        return false;
+    }
+}
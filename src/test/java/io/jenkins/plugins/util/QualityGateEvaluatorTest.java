@@ -1,6 +1,7 @@
 package io.jenkins.plugins.util;
 
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
@@ -69,6 +70,56 @@ class QualityGateEvaluatorTest {
         verify(resultHandler).publishResult(QualityGateStatus.ERROR, FAILURE_MESSAGE);
     }
 
+    @Test
+    void shouldWriteMessagesToLogSink() {
+        var evaluator = spy(QualityGateEvaluator.class);
+        addQualityGate(evaluator);
+
+        var sink = mock(LogSink.class);
+        evaluator.evaluate(mock(ResultHandler.class), sink);
+
+        verify(sink).logInfo("Evaluating quality gates");
+        verify(sink).logInfo("-> All quality gates have been passed");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldEvaluateTrendQualityGates() {
+        QualityGateEvaluator<QualityGate> evaluator = spy(QualityGateEvaluator.class);
+        var qualityGate = mock(QualityGate.class);
+        when(qualityGate.getThreshold()).thenReturn(5.0);
+        when(qualityGate.getStatus()).thenReturn(QualityGateStatus.WARNING);
+
+        var noHistory = new QualityGateResult();
+        evaluator.evaluateTrend(qualityGate, "line", 10, true, noHistory);
+        assertThat(noHistory.getOverallStatus()).isEqualTo(QualityGateStatus.PASSED);
+        assertThat(noHistory.getResultItems()).first().satisfies(
+                item -> assertThat(item.getActualValue()).isEqualTo("10.00 (no previous builds)"));
+
+        var statistics = new TrendStatistics();
+        statistics.update(1, Map.of("line", 100));
+        statistics.update(2, Map.of("line", 80));
+        evaluator.setTrendStatistics(statistics);
+
+        var passed = new QualityGateResult();
+        evaluator.evaluateTrend(qualityGate, "line", 86, true, passed);
+        assertThat(passed.getOverallStatus()).isEqualTo(QualityGateStatus.PASSED);
+
+        var higherIsBetter = new QualityGateResult();
+        evaluator.evaluateTrend(qualityGate, "line", 85, true, higherIsBetter);
+        assertThat(higherIsBetter.getOverallStatus()).isEqualTo(QualityGateStatus.WARNING);
+        assertThat(higherIsBetter.getResultItems()).first().satisfies(item -> assertThat(item.getActualValue())
+                .isEqualTo("85.00 (mean of last 2 builds: 90.00, regression: 5.56%)"));
+
+        var lowerIsBetter = new QualityGateResult();
+        evaluator.evaluateTrend(qualityGate, "line", 85, false, lowerIsBetter);
+        assertThat(lowerIsBetter.getOverallStatus()).isEqualTo(QualityGateStatus.PASSED);
+
+        var regression = new QualityGateResult();
+        evaluator.evaluateTrend(qualityGate, "line", 95, false, regression);
+        assertThat(regression.getOverallStatus()).isEqualTo(QualityGateStatus.WARNING);
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     private void addQualityGate(final QualityGateEvaluator evaluator) {
         var qualityGate = mock(QualityGate.class);
@@ -2,6 +2,8 @@ package io.jenkins.plugins.util;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+
 import static org.assertj.core.api.Assertions.*;
 
 class RemoteResultWrapperTest {
@@ -16,4 +18,71 @@ class RemoteResultWrapperTest {
         wrapper.logInfo("Hello %s", "World");
         assertThat(wrapper.getInfoMessages()).containsExactly("Hello World");
     }
+
+    @Test
+    void shouldCompressLargeResult() throws IOException, ClassNotFoundException {
+        var result = CompressedPayloadTest.createValue(10_000);
+
+        var wrapper = new RemoteResultWrapper<>(result, "title", CompressedPayload.DEFAULT_THRESHOLD);
+        wrapper.logInfo("Hello %s", "World");
+
+        assertThat(wrapper.getResult()).isEqualTo(result).isSameAs(wrapper.getResult());
+
+        var restored = CompressedPayloadTest.roundTrip(wrapper);
+        assertThat(restored.getResult()).isEqualTo(result);
+        assertThat(restored.getInfoMessages()).hasSize(2).first().isEqualTo("Hello World");
+        assertThat(restored.getInfoMessages().get(1)).startsWith("-> deduplicated 9900 strings (100 distinct)");
+        assertThat(restored.hashCode()).isEqualTo(restored.hashCode());
+    }
+
+    @Test
+    void shouldDeduplicateStringsOfUncompressedResult() throws IOException, ClassNotFoundException {
+        var result = CompressedPayloadTest.createValue(1_000);
+
+        var wrapper = new RemoteResultWrapper<>(result, "title", Integer.MAX_VALUE);
+
+        var restored = CompressedPayloadTest.roundTrip(wrapper);
+        assertThat(restored.getResult()).isEqualTo(result);
+        assertThat(restored.getResult().get(100)).isSameAs(restored.getResult().get(0));
+        assertThat(restored.getInfoMessages()).singleElement().asString()
+                .startsWith("-> deduplicated 900 strings (100 distinct)");
+    }
+
+    @Test
+    void shouldTransferResultAsIsByDefault() throws IOException, ClassNotFoundException {
+        var result = CompressedPayloadTest.createValue(1_000);
+
+        var wrapper = new RemoteResultWrapper<>(result, "title");
+
+        var restored = CompressedPayloadTest.roundTrip(wrapper);
+        assertThat(restored.getResult()).isEqualTo(result);
+        assertThat(restored.getResult().get(100)).isNotSameAs(restored.getResult().get(0));
+        assertThat(restored.getInfoMessages()).isEmpty();
+    }
+
+    @Test
+    void shouldNotChangeLogWhenComparing() throws IOException, ClassNotFoundException {
+        var result = CompressedPayloadTest.createValue(10_000);
+        var wrapper = new RemoteResultWrapper<>(result, "title", CompressedPayload.DEFAULT_THRESHOLD);
+
+        var restored = CompressedPayloadTest.roundTrip(wrapper);
+        var other = CompressedPayloadTest.roundTrip(wrapper);
+
+        assertThat(restored).isEqualTo(other).hasSameHashCodeAs(other);
+        assertThat(restored.getInfoMessages()).isEmpty();
+
+        assertThat(restored.getResult()).isEqualTo(result);
+        assertThat(restored.getInfoMessages()).singleElement().asString().startsWith("-> deduplicated");
+        assertThat(restored).isNotEqualTo(other);
+    }
+
+    @Test
+    void shouldNotCompressSmallResult() {
+        var result = "result";
+
+        var wrapper = new RemoteResultWrapper<>(result, "title", CompressedPayload.DEFAULT_THRESHOLD);
+
+        assertThat(wrapper.getResult()).isSameAs(result);
+        assertThat(wrapper).isEqualTo(new RemoteResultWrapper<>(result, "title"));
+    }
 }
@@ -0,0 +1,69 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link RollingStatistics}.
+ *
+ * @author Ullrich Hafner
+ */
+class RollingStatisticsTest {
+    @Test
+    void shouldHandleEmptyWindow() {
+        var statistics = new RollingStatistics(3);
+
+        assertThat(statistics.isEmpty()).isTrue();
+        assertThat(statistics.size()).isZero();
+        assertThat(statistics.getMean()).isZero();
+        assertThat(statistics.getMin()).isZero();
+        assertThat(statistics.getMax()).isZero();
+        assertThat(statistics.getPercentile(50)).isZero();
+    }
+
+    @Test
+    void shouldComputeStatisticsOfLatestValues() {
+        var statistics = new RollingStatistics(3);
+
+        statistics.add(10);
+        statistics.add(20);
+        statistics.add(30);
+
+        assertThat(statistics.size()).isEqualTo(3);
+        assertThat(statistics.getMean()).isEqualTo(20);
+        assertThat(statistics.getMin()).isEqualTo(10);
+        assertThat(statistics.getMax()).isEqualTo(30);
+
+        statistics.add(60);
+
+        assertThat(statistics.size()).isEqualTo(3);
+        assertThat(statistics.getWindowSize()).isEqualTo(3);
+        assertThat(statistics.getMean()).isEqualTo(110.0 / 3);
+        assertThat(statistics.getMin()).isEqualTo(20);
+        assertThat(statistics.getMax()).isEqualTo(60);
+        assertThat(statistics).hasToString("mean: 36.67, min: 20.00, max: 60.00 (3 values)");
+    }
+
+    @Test
+    void shouldComputePercentiles() {
+        var statistics = new RollingStatistics(10);
+        for (int i = 10; i >= 1; i--) {
+            statistics.add(i);
+        }
+
+        assertThat(statistics.getPercentile(100)).isEqualTo(10);
+        assertThat(statistics.getPercentile(90)).isEqualTo(9);
+        assertThat(statistics.getPercentile(50)).isEqualTo(5);
+        assertThat(statistics.getPercentile(1)).isEqualTo(1);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> statistics.getPercentile(0));
+        assertThatIllegalArgumentException().isThrownBy(() -> statistics.getPercentile(101));
+    }
+
+    @Test
+    void shouldRejectInvalidWindowSize() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new RollingStatistics(0))
+                .withMessageContaining("0");
+    }
+}
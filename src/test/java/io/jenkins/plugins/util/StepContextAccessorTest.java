@@ -0,0 +1,168 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.jenkinsci.plugins.workflow.graph.FlowNode;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import hudson.FilePath;
+import hudson.model.Computer;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.remoting.Channel;
+import hudson.remoting.VirtualChannel;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the class {@link StepContextAccessor}.
+ *
+ * @author Ullrich Hafner
+ */
+class StepContextAccessorTest {
+    private static final String EXECUTION = "execution";
+
+    @Test
+    void shouldResolveContextElements() throws IOException, InterruptedException {
+        var context = mock(StepContext.class);
+        Run<?, ?> run = mock(Run.class);
+        when(context.get(Run.class)).thenAnswer(invocation -> run);
+        var workspace = mock(FilePath.class);
+        when(context.get(FilePath.class)).thenReturn(workspace);
+        var listener = mock(TaskListener.class);
+        when(context.get(TaskListener.class)).thenReturn(listener);
+        var flowNode = mock(FlowNode.class);
+        when(context.get(FlowNode.class)).thenReturn(flowNode);
+        var computer = mock(Computer.class);
+        var channel = mock(VirtualChannel.class);
+        when(computer.getChannel()).thenReturn(channel);
+        when(context.get(Computer.class)).thenReturn(computer);
+
+        var accessor = new StepContextAccessor(context, EXECUTION);
+
+        assertThat(accessor.getRun()).isSameAs(run);
+        assertThat(accessor.getWorkspace()).isSameAs(workspace);
+        assertThat(accessor.getTaskListener()).isSameAs(listener);
+        assertThat(accessor.getFlowNode()).isSameAs(flowNode);
+        assertThat(accessor.getChannel()).contains(channel);
+
+        verify(workspace).mkdirs();
+    }
+
+    @Test
+    void shouldCacheContextElements() throws IOException, InterruptedException {
+        var context = mock(StepContext.class);
+        Run<?, ?> run = mock(Run.class);
+        when(context.get(Run.class)).thenAnswer(invocation -> run);
+        var workspace = mock(FilePath.class);
+        when(context.get(FilePath.class)).thenReturn(workspace);
+        when(context.get(FlowNode.class)).thenReturn(mock(FlowNode.class));
+
+        var accessor = new StepContextAccessor(context, EXECUTION);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(accessor.getRun()).isSameAs(run);
+            assertThat(accessor.getWorkspace()).isSameAs(workspace);
+            assertThat(accessor.getTaskListener()).isSameAs(TaskListener.NULL);
+            assertThat(accessor.getFlowNode()).isNotNull();
+        }
+
+        verify(context).get(Run.class);
+        verify(context).get(FilePath.class);
+        verify(context).get(TaskListener.class);
+        verify(context).get(FlowNode.class);
+        verify(workspace).mkdirs();
+    }
+
+    @Test
+    void shouldCacheOpenChannel() throws IOException, InterruptedException {
+        var context = mock(StepContext.class);
+        var channel = mock(Channel.class);
+        var computer = mock(Computer.class);
+        when(computer.getChannel()).thenReturn(channel);
+        when(context.get(Computer.class)).thenReturn(computer);
+
+        var accessor = new StepContextAccessor(context, EXECUTION);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(accessor.getChannel()).contains(channel);
+        }
+        verify(context).get(Computer.class);
+    }
+
+    @Test
+    void shouldResolveMissingOrClosedChannelAgain() throws IOException, InterruptedException {
+        var context = mock(StepContext.class);
+        var accessor = new StepContextAccessor(context, EXECUTION);
+
+        assertThat(accessor.getChannel()).isEmpty();
+
+        var computer = mock(Computer.class);
+        when(context.get(Computer.class)).thenReturn(computer);
+
+        assertThat(accessor.getChannel()).isEmpty();
+
+        var closed = mock(Channel.class);
+        when(closed.isClosingOrClosed()).thenReturn(true);
+        when(computer.getChannel()).thenReturn(closed);
+
+        assertThat(accessor.getChannel()).contains(closed);
+
+        var reconnected = mock(Channel.class);
+        when(computer.getChannel()).thenReturn(reconnected);
+
+        assertThat(accessor.getChannel()).contains(reconnected);
+        assertThat(accessor.getChannel()).contains(reconnected);
+        verify(context, times(4)).get(Computer.class);
+    }
+
+    @Test
+    void shouldNotCacheMissingWorkspace() throws IOException, InterruptedException {
+        var context = mock(StepContext.class);
+        var accessor = new StepContextAccessor(context, EXECUTION);
+
+        assertThatIOException().isThrownBy(accessor::getWorkspace);
+
+        var workspace = mock(FilePath.class);
+        when(context.get(FilePath.class)).thenReturn(workspace);
+
+        assertThat(accessor.getWorkspace()).isSameAs(workspace);
+        assertThat(accessor.getWorkspace()).isSameAs(workspace);
+        verify(workspace).mkdirs();
+    }
+
+    @Test
+    void shouldHandleMissingContextElements() throws IOException, InterruptedException {
+        var accessor = new StepContextAccessor(mock(StepContext.class), EXECUTION);
+
+        assertThatIOException().isThrownBy(accessor::getRun)
+                .withMessage("Can't resolve Run for execution");
+        assertThatIOException().isThrownBy(accessor::getWorkspace)
+                .withMessage("No workspace available for execution");
+        assertThatIllegalStateException().isThrownBy(accessor::getFlowNode)
+                .withMessage("FlowNode is not defined in the context of execution");
+        assertThat(accessor.getTaskListener()).isSameAs(TaskListener.NULL);
+        assertThat(accessor.getChannel()).isEmpty();
+    }
+
+    @Test
+    void shouldCreateElementsThatDependOnRunAndFlowNode() throws IOException, InterruptedException {
+        var context = mock(StepContext.class);
+        Run<?, ?> run = mock(Run.class);
+        when(run.getRootDir()).thenReturn(new File("build"));
+        when(context.get(Run.class)).thenAnswer(invocation -> run);
+        when(context.get(FlowNode.class)).thenReturn(mock(FlowNode.class));
+
+        var accessor = new StepContextAccessor(context, EXECUTION);
+
+        assertThat(accessor.getBuildFolder().getName()).isEqualTo("build");
+        assertThat(accessor.createResultHandler()).isInstanceOf(PipelineResultHandler.class);
+        assertThat(accessor.createBatchingResultHandler()).isInstanceOf(BatchingResultHandler.class);
+
+        verify(context).get(Run.class);
+        verify(context).get(FlowNode.class);
+    }
+}
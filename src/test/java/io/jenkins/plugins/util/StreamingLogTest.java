@@ -0,0 +1,88 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import hudson.model.TaskListener;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the classes {@link StreamingLog}, {@link LogSink}, and {@link ConsoleLogSink}.
+ *
+ * @author Ullrich Hafner
+ */
+class StreamingLogTest {
+    private static final String TITLE = "Title";
+
+    @Test
+    void shouldForwardMessagesToSink() {
+        var sink = mock(LogSink.class);
+        var log = new StreamingLog(TITLE, sink);
+
+        log.logInfo("Info %d", 1);
+        log.logInfo("Info 2");
+        log.logError("Error %d", 1);
+
+        verify(sink).logInfo("Info 1");
+        verify(sink).logInfo("Info 2");
+        verify(sink).logError("Error 1");
+
+        assertThat(log.getInfoMessages()).containsExactly("Info 1", "Info 2");
+        assertThat(log.getErrorMessages()).containsExactly(TITLE, "Error 1");
+        assertThat(log.getStreamedInfoCount()).isEqualTo(2);
+        assertThat(log.getStreamedErrorCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotStreamMessagesAfterDeserialization() throws IOException, ClassNotFoundException {
+        var sink = mock(LogSink.class);
+        var log = new StreamingLog(TITLE, sink);
+        log.logInfo("Info 1");
+
+        var restored = CompressedPayloadTest.roundTrip(log);
+        restored.logInfo("Info 2");
+        restored.logError("Error 1");
+
+        verify(sink).logInfo("Info 1");
+        verifyNoMoreInteractions(sink);
+
+        assertThat(restored.getInfoMessages()).containsExactly("Info 1", "Info 2");
+        assertThat(restored.getErrorMessages()).containsExactly(TITLE, "Error 1");
+        assertThat(restored.getStreamedInfoCount()).isEqualTo(1);
+        assertThat(restored.getStreamedErrorCount()).isZero();
+    }
+
+    @Test
+    void shouldStoreMessagesInFilteredLog() {
+        var log = new FilteredLog(TITLE);
+        var sink = LogSink.of(log);
+
+        sink.logInfo("Info %d", 1);
+        sink.logError("Error %d", 1);
+
+        assertThat(log.getInfoMessages()).containsExactly("Info 1");
+        assertThat(log.getErrorMessages()).containsExactly(TITLE, "Error 1");
+    }
+
+    @Test
+    void shouldPrintMessagesToConsole() {
+        var outputStream = new ByteArrayOutputStream();
+        var listener = mock(TaskListener.class);
+        when(listener.getLogger()).thenReturn(new PrintStream(outputStream, true, StandardCharsets.UTF_8));
+
+        var sink = new ConsoleLogSink(listener, "Console");
+        sink.logInfo("Info");
+        sink.logError("Error");
+        sink.flush();
+
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "[Console] Info%n[Console] [-ERROR-] Error%n".formatted());
+    }
+}
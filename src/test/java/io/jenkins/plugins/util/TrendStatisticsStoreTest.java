@@ -0,0 +1,142 @@
+package io.jenkins.plugins.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the classes {@link TrendStatisticsStore} and {@link TrendStatistics}.
+ *
+ * @author Ullrich Hafner
+ */
+class TrendStatisticsStoreTest {
+    private static final String ID = "coverage";
+    private static final String LINE = "line";
+    private static final String BRANCH = "branch";
+    private static final int JOBS = 8;
+    private static final int BUILDS = 20;
+    private static final String FILE_NAME = ID + "-trend-statistics.xml";
+
+    @TempDir
+    private Path jobFolder;
+
+    @Test
+    void shouldCreateEmptyStatisticsIfFileDoesNotExist() {
+        var store = new TrendStatisticsStore(ID, 5);
+
+        var statistics = store.load(jobFolder);
+
+        assertThat(statistics.getMetrics()).isEmpty();
+        assertThat(statistics.getLastBuildNumber()).isZero();
+        assertThat(statistics.getWindowSize()).isEqualTo(5);
+        assertThat(statistics.getStatistics(LINE)).isEmpty();
+    }
+
+    @Test
+    void shouldUpdateStatisticsOncePerBuild() {
+        var store = new TrendStatisticsStore(ID, 2);
+
+        store.update(jobFolder, 1, Map.of(LINE, 50, BRANCH, 40.0));
+        store.update(jobFolder, 2, Map.of(LINE, 60));
+        store.update(jobFolder, 2, Map.of(LINE, 1000));
+        store.update(jobFolder, 1, Map.of(LINE, 1000));
+
+        var statistics = store.load(jobFolder);
+        assertThat(statistics.getLastBuildNumber()).isEqualTo(2);
+        assertThat(statistics.getMetrics()).containsExactly(BRANCH, LINE);
+        assertThat(statistics.getStatistics(LINE)).hasValueSatisfying(line -> {
+            assertThat(line.size()).isEqualTo(2);
+            assertThat(line.getMean()).isEqualTo(55);
+        });
+        assertThat(statistics.getStatistics(BRANCH)).hasValueSatisfying(
+                branch -> assertThat(branch.getMax()).isEqualTo(40));
+
+        store.update(jobFolder, 3, Map.of(LINE, 70));
+        assertThat(store.load(jobFolder).getStatistics(LINE)).hasValueSatisfying(
+                line -> assertThat(line.getMin()).isEqualTo(60));
+    }
+
+    @Test
+    void shouldUseSeparateFilesForEachConsumer() {
+        new TrendStatisticsStore(ID).update(jobFolder, 1, Map.of(LINE, 50));
+
+        assertThat(new TrendStatisticsStore("other").load(jobFolder).getMetrics()).isEmpty();
+        assertThat(new TrendStatisticsStore(ID).load(jobFolder).getMetrics()).containsExactly(LINE);
+    }
+
+    @Test
+    void shouldUseTheSameLockForTheSameFile() {
+        var file = jobFolder.resolve(FILE_NAME);
+
+        assertThat(TrendStatisticsStore.getLock(file))
+                .isSameAs(TrendStatisticsStore.getLock(jobFolder.resolve(".").resolve(FILE_NAME)));
+    }
+
+    @Test
+    void shouldUpdateOtherJobWhileUpdateOfJobIsBlocked() throws Exception {
+        var store = new TrendStatisticsStore(ID);
+        var blocked = Files.createDirectories(jobFolder.resolve("blocked"));
+        var other = Files.createDirectories(findFolderWithOtherLock(blocked));
+
+        CompletableFuture<TrendStatistics> blockedUpdate;
+        synchronized (TrendStatisticsStore.getLock(blocked.resolve(FILE_NAME))) {
+            blockedUpdate = CompletableFuture.supplyAsync(() -> store.update(blocked, 1, Map.of(LINE, 1)));
+            var otherUpdate = CompletableFuture.supplyAsync(() -> store.update(other, 1, Map.of(LINE, 1)));
+
+            assertThat(otherUpdate.get(10, TimeUnit.SECONDS).getLastBuildNumber()).isOne();
+            assertThatExceptionOfType(TimeoutException.class).isThrownBy(
+                    () -> blockedUpdate.get(100, TimeUnit.MILLISECONDS));
+        }
+
+        assertThat(blockedUpdate.get(10, TimeUnit.SECONDS).getLastBuildNumber()).isOne();
+    }
+
+    private Path findFolderWithOtherLock(final Path folder) {
+        var lock = TrendStatisticsStore.getLock(folder.resolve(FILE_NAME));
+        for (int i = 0; ; i++) {
+            var candidate = jobFolder.resolve("job-" + i);
+            if (TrendStatisticsStore.getLock(candidate.resolve(FILE_NAME)) != lock) {
+                return candidate;
+            }
+        }
+    }
+
+    @Test
+    void shouldUpdateDifferentJobsFromSeveralThreads() throws InterruptedException, ExecutionException {
+        var store = new TrendStatisticsStore(ID);
+        var executor = Executors.newFixedThreadPool(JOBS);
+        try {
+            List<Callable<TrendStatistics>> tasks = new ArrayList<>();
+            for (int job = 0; job < JOBS; job++) {
+                var folder = jobFolder.resolve("job-" + job);
+                tasks.add(() -> {
+                    Files.createDirectories(folder);
+                    for (int build = 1; build <= BUILDS; build++) {
+                        store.update(folder, build, Map.of(LINE, build));
+                    }
+                    return store.load(folder);
+                });
+            }
+            for (Future<TrendStatistics> future : executor.invokeAll(tasks)) {
+                assertThat(future.get().getLastBuildNumber()).isEqualTo(BUILDS);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+}
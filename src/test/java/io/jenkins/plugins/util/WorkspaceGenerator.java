@@ -0,0 +1,219 @@
+package io.jenkins.plugins.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Generates deterministic workspaces for tests and benchmarks of {@link AgentFileVisitor} and
+ * {@link AgentFileVisitor.FileFinder}. A generated workspace is a tree of folders with a configurable depth and
+ * fan-out, each folder contains a configurable number of report files (that match {@link #INCLUDE_PATTERN}) and the
+ * same number of other files. Optionally, the workspace contains symbolic links that form loops and additional trees
+ * that should be excluded from a scan (see {@link #getExcludePattern()}). Using the same configuration (and seed)
+ * always generates the same workspace.
+ *
+ * @author Ullrich Hafner
+ */
+public class WorkspaceGenerator {
+    /** The pattern that matches all generated report files. */
+    public static final String INCLUDE_PATTERN = "**/*.txt";
+
+    private static final String LOOP = "loop-to-root";
+    private static final int LINE_LENGTH = 80;
+
+    private int depth = 2;
+    private int fanOut = 3;
+    private int filesPerFolder = 10;
+    private int fileSize = 1024;
+    private boolean symbolicLinkLoops;
+    private final List<String> excludedTrees = new ArrayList<>();
+    private long seed = 42;
+
+    private int generatedFiles;
+    private int generatedExcludedFiles;
+
+    /**
+     * Sets the number of folder levels below the root folder.
+     *
+     * @param depth
+     *         the depth of the folder tree
+     *
+     * @return this
+     */
+    public WorkspaceGenerator withDepth(final int depth) {
+        this.depth = depth;
+        return this;
+    }
+
+    /**
+     * Sets the number of sub folders of each folder.
+     *
+     * @param fanOut
+     *         the number of sub folders
+     *
+     * @return this
+     */
+    public WorkspaceGenerator withFanOut(final int fanOut) {
+        this.fanOut = fanOut;
+        return this;
+    }
+
+    /**
+     * Sets the number of report files in each folder.
+     *
+     * @param filesPerFolder
+     *         the number of report files
+     *
+     * @return this
+     */
+    public WorkspaceGenerator withFilesPerFolder(final int filesPerFolder) {
+        this.filesPerFolder = filesPerFolder;
+        return this;
+    }
+
+    /**
+     * Sets the size of each generated file.
+     *
+     * @param fileSize
+     *         the size in bytes
+     *
+     * @return this
+     */
+    public WorkspaceGenerator withFileSize(final int fileSize) {
+        this.fileSize = fileSize;
+        return this;
+    }
+
+    /**
+     * Determines whether each leaf folder should contain a symbolic link to the root folder of the workspace. Note that
+     * creating symbolic links fails on Windows if the user has no privileges to create them, so tests that use this
+     * option should be disabled on Windows.
+     *
+     * @param symbolicLinkLoops
+     *         {@code true} to create symbolic links that form loops
+     *
+     * @return this
+     */
+    public WorkspaceGenerator withSymbolicLinkLoops(final boolean symbolicLinkLoops) {
+        this.symbolicLinkLoops = symbolicLinkLoops;
+        return this;
+    }
+
+    /**
+     * Adds a tree of folders with the specified name to the root of the workspace (e.g., {@code node_modules}). These
+     * trees have the same structure as the workspace, but should be excluded from a scan.
+     *
+     * @param name
+     *         the name of the excluded tree
+     *
+     * @return this
+     */
+    public WorkspaceGenerator withExcludedTree(final String name) {
+        excludedTrees.add(name);
+        return this;
+    }
+
+    /**
+     * Sets the seed of the random content of the files.
+     *
+     * @param seed
+     *         the seed
+     *
+     * @return this
+     */
+    public WorkspaceGenerator withSeed(final long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Generates the workspace in the specified folder.
+     *
+     * @param root
+     *         the root folder of the workspace
+     *
+     * @return the root folder of the workspace
+     * @throws IOException
+     *         if the workspace could not be created
+     */
+    public Path generate(final Path root) throws IOException {
+        var random = new Random(seed);
+
+        Files.createDirectories(root);
+        generatedFiles = createTree(root, root, depth, random);
+        generatedExcludedFiles = 0;
+        for (String excludedTree : excludedTrees) {
+            generatedExcludedFiles += createTree(root.resolve(excludedTree), root, depth, random);
+        }
+
+        return root;
+    }
+
+    private int createTree(final Path folder, final Path root, final int remainingDepth, final Random random)
+            throws IOException {
+        Files.createDirectories(folder);
+        for (int i = 0; i < filesPerFolder; i++) {
+            Files.writeString(folder.resolve("report-%d.txt".formatted(i)), createContent(random),
+                    StandardCharsets.UTF_8);
+            Files.writeString(folder.resolve("build-%d.log".formatted(i)), createContent(random),
+                    StandardCharsets.UTF_8);
+        }
+
+        int count = filesPerFolder;
+        if (remainingDepth > 0) {
+            for (int i = 0; i < fanOut; i++) {
+                count += createTree(folder.resolve("module-" + i), root, remainingDepth - 1, random);
+            }
+        }
+        else if (symbolicLinkLoops) {
+            Files.createSymbolicLink(folder.resolve(LOOP), root);
+        }
+        return count;
+    }
+
+    private String createContent(final Random random) {
+        var content = new StringBuilder(fileSize);
+        while (content.length() < fileSize) {
+            content.append(random.ints(Math.min(LINE_LENGTH, fileSize - content.length()), 'a', 'z' + 1)
+                    .mapToObj(Character::toString)
+                    .collect(Collectors.joining()));
+            if (content.length() < fileSize) {
+                content.append('\n');
+            }
+        }
+        return content.toString();
+    }
+
+    /**
+     * Returns the number of generated report files that match {@link #INCLUDE_PATTERN} and are not part of an excluded
+     * tree.
+     *
+     * @return the number of report files
+     */
+    public int getFileCount() {
+        return generatedFiles;
+    }
+
+    /**
+     * Returns the number of generated report files in the excluded trees.
+     *
+     * @return the number of excluded report files
+     */
+    public int getExcludedFileCount() {
+        return generatedExcludedFiles;
+    }
+
+    /**
+     * Returns an Ant pattern that excludes all excluded trees.
+     *
+     * @return the exclude pattern
+     */
+    public String getExcludePattern() {
+        return excludedTrees.stream().map(name -> name + "/**").collect(Collectors.joining(","));
+    }
+}